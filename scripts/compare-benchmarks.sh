@@ -0,0 +1,38 @@
+#!/bin/bash
+
+# Сравнение двух прогонов JMH (mvn -Pbenchmark test-compile exec:exec пишет target/jmh-result.json)
+# Использование: scripts/compare-benchmarks.sh base.json new.json
+
+if [ $# -ne 2 ]; then
+    echo "Использование: $0 base.json new.json"
+    exit 1
+fi
+
+if ! command -v jq &> /dev/null; then
+    echo "Ошибка: jq не установлен"
+    exit 1
+fi
+
+# Ключ строки: класс.метод и параметры, например EntityTotalsBenchmark.cartCalculateTotals lines=100
+rows() {
+    jq -r '.[] | [
+        ((.benchmark | split(".") | .[-2:] | join(".")) + " " +
+            ((.params // {}) | to_entries | map("\(.key)=\(.value)") | join(","))),
+        .primaryMetric.score,
+        .primaryMetric.scoreUnit,
+        ((.secondaryMetrics["gc.alloc.rate.norm"] // .secondaryMetrics["·gc.alloc.rate.norm"]).score // "-")
+    ] | @tsv' "$1" | LC_ALL=C sort -t $'\t' -k1,1
+}
+
+LC_ALL=C join -t $'\t' -a 1 -e "-" -o 0,1.2,1.3,1.4,2.2,2.4 <(rows "$1") <(rows "$2") | awk -F'\t' '
+    BEGIN {
+        printf "%-60s %14s %14s %9s %12s %12s\n", "Benchmark", "Base", "New", "Change", "Base B/op", "New B/op"
+    }
+    function num(value, format) {
+        return value == "-" ? "-" : sprintf(format, value)
+    }
+    {
+        change = ($2 != 0 && $5 != "-") ? sprintf("%+.1f%%", ($5 - $2) * 100 / $2) : "-"
+        printf "%-60s %14.3f %14s %9s %12s %12s  %s\n", $1, $2, num($5, "%.3f"), change,
+            num($4, "%.1f"), num($6, "%.1f"), $3
+    }'
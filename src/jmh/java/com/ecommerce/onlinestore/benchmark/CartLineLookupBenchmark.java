@@ -0,0 +1,102 @@
+package com.ecommerce.onlinestore.benchmark;
+
+import com.ecommerce.onlinestore.model.entity.Cart;
+import com.ecommerce.onlinestore.model.entity.CartItem;
+import com.ecommerce.onlinestore.model.entity.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line lookups as done by CartServiceImpl: the former linear stream scan against the Cart index.
+ * "merge" looks up every line of a source cart of the same size in the target cart;
+ * the index variant starts from a freshly loaded cart, so the cost of building the index is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartLineLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private List<CartItem> targetItems;
+    private List<CartItem> sourceItems;
+    private Cart warmCart;
+    private long lastItemId;
+
+    @Setup
+    public void setUp() {
+        targetItems = createItems(0);
+        sourceItems = createItems(lines);
+        warmCart = loadedCart();
+        lastItemId = targetItems.get(lines - 1).getId();
+    }
+
+    @Benchmark
+    public CartItem findByItemIdStream() {
+        return warmCart.getItems().stream()
+                .filter(item -> item.getId().equals(lastItemId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public CartItem findByItemIdIndexed() {
+        return warmCart.findItemById(lastItemId).orElse(null);
+    }
+
+    @Benchmark
+    public void mergeStream(Blackhole blackhole) {
+        Cart target = loadedCart();
+        for (CartItem sourceItem : sourceItems) {
+            blackhole.consume(target.getItems().stream()
+                    .filter(item -> item.getProduct().getId().equals(sourceItem.getProduct().getId()))
+                    .findFirst()
+                    .orElse(null));
+        }
+    }
+
+    @Benchmark
+    public void mergeIndexed(Blackhole blackhole) {
+        Cart target = loadedCart();
+        for (CartItem sourceItem : sourceItems) {
+            blackhole.consume(target.findItemByProductId(sourceItem.getProduct().getId()).orElse(null));
+        }
+    }
+
+    // Как после загрузки из БД: строки уже в коллекции, индексы еще не построены
+    private Cart loadedCart() {
+        return Cart.builder()
+                .items(targetItems)
+                .build();
+    }
+
+    private List<CartItem> createItems(int idOffset) {
+        List<CartItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            // Половина строк источника совпадает по товару с целевой корзиной
+            long productId = idOffset == 0 ? i : (i % 2 == 0 ? i : lines + i);
+            Product product = Product.builder()
+                    .id(productId)
+                    .name("Product " + productId)
+                    .price(BigDecimal.TEN)
+                    .stockQuantity(100)
+                    .build();
+            items.add(CartItem.builder()
+                    .id(idOffset + i + 1L)
+                    .product(product)
+                    .quantity(1)
+                    .unitPrice(BigDecimal.TEN)
+                    .build());
+        }
+        return items;
+    }
+}
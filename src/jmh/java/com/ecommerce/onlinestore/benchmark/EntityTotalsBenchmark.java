@@ -0,0 +1,100 @@
+package com.ecommerce.onlinestore.benchmark;
+
+import com.ecommerce.onlinestore.model.entity.Cart;
+import com.ecommerce.onlinestore.model.entity.CartItem;
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.OrderItem;
+import com.ecommerce.onlinestore.model.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals kept on the entities: the full recount of Cart.calculateTotals and Order.calculateTotalAmount,
+ * OrderItem.calculateTotalPrice over every line, and the incremental cart path taken by addItem.
+ * Prices have two decimals like the stored ones, so BigDecimal does the same work as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityTotalsBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    private Cart cart;
+    private Order order;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(lines);
+        List<CartItem> cartItems = new ArrayList<>(lines);
+        List<OrderItem> orderItems = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            BigDecimal price = BigDecimal.valueOf(999 + i * 7L, 2);
+            Product product = Product.builder()
+                    .id((long) i)
+                    .name("Product " + i)
+                    .price(price)
+                    .stockQuantity(100)
+                    .build();
+            products.add(product);
+            cartItems.add(CartItem.builder()
+                    .id(i + 1L)
+                    .product(product)
+                    .quantity(1 + i % 5)
+                    .unitPrice(price)
+                    .build());
+            orderItems.add(OrderItem.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .unitPrice(price)
+                    .quantity(1 + i % 5)
+                    .build());
+        }
+        cart = Cart.builder().items(cartItems).build();
+        order = Order.builder().orderItems(orderItems).build();
+    }
+
+    @Benchmark
+    public BigDecimal cartCalculateTotals() {
+        cart.calculateTotals();
+        return cart.getTotalPrice();
+    }
+
+    // Каждая операция собирает корзину заново, как CartServiceImpl при добавлении строк по одной
+    @Benchmark
+    public BigDecimal cartAddItems() {
+        Cart target = Cart.builder().build();
+        for (Product product : products) {
+            target.addItem(CartItem.builder()
+                    .product(product)
+                    .quantity(1)
+                    .build());
+        }
+        return target.getTotalPrice();
+    }
+
+    @Benchmark
+    public BigDecimal orderCalculateTotalAmount() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal orderItemCalculateTotalPrice() {
+        BigDecimal last = null;
+        for (OrderItem item : order.getOrderItems()) {
+            item.calculateTotalPrice();
+            last = item.getTotalPrice();
+        }
+        return last;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.onlinestore.benchmark;
+
+import com.ecommerce.onlinestore.config.InventoryProperties;
+import com.ecommerce.onlinestore.inventory.InventoryReservations;
+import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds per second on a flash-sale product: every thread keeps changing hold sizes of random carts
+ * on one hot product (or spreads over many products), well beyond what the stock allows.
+ * After each iteration the units held must not exceed the stock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class InventoryReservationBenchmark {
+
+    private static final int STOCK = 1_000;
+    private static final int CARTS = 100_000;
+
+    @Param({"1", "64"})
+    private int products;
+
+    private InventoryReservations reservations;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        reservations = new InventoryReservations(null, new InventoryProperties(), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkNoOversell() {
+        for (long productId = 0; productId < products; productId++) {
+            int held = reservations.heldQuantity(productId);
+            if (held > STOCK) {
+                throw new IllegalStateException("Oversold product " + productId + ": " + held + " held of " + STOCK);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean hold() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long cartId = random.nextLong(CARTS);
+        long productId = random.nextLong(products);
+        try {
+            reservations.hold(cartId, productId, "Flash Sale Item", random.nextInt(4), STOCK);
+            return true;
+        } catch (InsufficientStockException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.onlinestore.benchmark;
+
+import com.ecommerce.onlinestore.mapper.CartMapper;
+import com.ecommerce.onlinestore.mapper.CartMapperImpl;
+import com.ecommerce.onlinestore.mapper.OrderMapper;
+import com.ecommerce.onlinestore.mapper.OrderMapperImpl;
+import com.ecommerce.onlinestore.mapper.ProductMapper;
+import com.ecommerce.onlinestore.mapper.ProductMapperImpl;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.entity.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping through the generated MapStruct mappers, as done for every cart and order response.
+ * The mappers have no injected dependencies, so they are created directly instead of from a Spring context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private final CartMapper cartMapper = new CartMapperImpl();
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private final ProductMapper productMapper = new ProductMapperImpl();
+
+    private Cart cart;
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<CartItem> cartItems = new ArrayList<>(lines);
+        List<OrderItem> orderItems = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            BigDecimal price = BigDecimal.valueOf(999 + i * 7L, 2);
+            Product lineProduct = Product.builder()
+                    .id((long) i)
+                    .name("Product " + i)
+                    .description("Description of product " + i)
+                    .price(price)
+                    .stockQuantity(100)
+                    .category("Electronics")
+                    .sku("SKU-" + i)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            cartItems.add(CartItem.builder()
+                    .id(i + 1L)
+                    .product(lineProduct)
+                    .quantity(1 + i % 5)
+                    .unitPrice(price)
+                    .build());
+            OrderItem orderItem = OrderItem.builder()
+                    .id(i + 1L)
+                    .productId(lineProduct.getId())
+                    .productName(lineProduct.getName())
+                    .unitPrice(price)
+                    .quantity(1 + i % 5)
+                    .build();
+            orderItem.calculateTotalPrice();
+            orderItems.add(orderItem);
+        }
+        product = cartItems.get(0).getProduct();
+        cart = Cart.builder()
+                .id(1L)
+                .sessionId("benchmark-session")
+                .items(cartItems)
+                .build();
+        cart.calculateTotals();
+        order = Order.builder()
+                .id(1L)
+                .orderNumber("ORD-BENCHMARK")
+                .orderItems(orderItems)
+                .customerInfo(CustomerInfo.builder()
+                        .customerName("John Doe")
+                        .customerEmail("john.doe@example.com")
+                        .customerPhone("+1234567890")
+                        .build())
+                .shippingAddress(Address.builder()
+                        .street("123 Main St")
+                        .city("New York")
+                        .state("NY")
+                        .postalCode("10001")
+                        .country("USA")
+                        .build())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        order.calculateTotalAmount();
+    }
+
+    @Benchmark
+    public CartDTO cartToDTO() {
+        return cartMapper.toDTO(cart);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return orderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTOWithoutItems() {
+        return orderMapper.toDTOWithoutItems(order);
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productMapper.toDTO(product);
+    }
+}
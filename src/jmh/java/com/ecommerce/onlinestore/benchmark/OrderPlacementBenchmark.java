@@ -0,0 +1,116 @@
+package com.ecommerce.onlinestore.benchmark;
+
+import com.ecommerce.onlinestore.OnlineStoreApplication;
+import com.ecommerce.onlinestore.model.dto.*;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.placement.OrderPlacementPipeline;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders per second through the synchronous createOrder path against the group-commit pipeline,
+ * with concurrent shoppers on the embedded H2 database. Each operation fills a one-line cart first,
+ * so both variants include the same cart work. On H2 commits do not fsync, a disk-backed database
+ * gains more from batching than measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class OrderPlacementBenchmark {
+
+    private static final int PRODUCTS = 16;
+
+    @Param({"100"})
+    private int batchSize;
+
+    @Param({"5"})
+    private int maxBatchDelayMillis;
+
+    private ConfigurableApplicationContext context;
+    private CartService cartService;
+    private OrderService orderService;
+    private OrderPlacementPipeline pipeline;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(OnlineStoreApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.com.ecommerce.onlinestore=WARN",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "app.order-pipeline.batch-size=" + batchSize,
+                        "app.order-pipeline.max-batch-delay=" + maxBatchDelayMillis + "ms")
+                .run();
+        cartService = context.getBean(CartService.class);
+        orderService = context.getBean(OrderService.class);
+        pipeline = context.getBean(OrderPlacementPipeline.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        productIds = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Benchmark Product " + i)
+                    .price(BigDecimal.TEN)
+                    .stockQuantity(Integer.MAX_VALUE / 2)
+                    .sku("BENCH-" + i)
+                    .build());
+            productIds.add(product.getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Shopper {
+
+        private int sequence;
+
+        CreateOrderRequest fillCart(OrderPlacementBenchmark benchmark) {
+            CartDTO cart = benchmark.cartService.createCart("bench-" + Thread.currentThread().getId() + "-" + sequence++);
+            Long productId = benchmark.productIds.get(ThreadLocalRandom.current().nextInt(PRODUCTS));
+            benchmark.cartService.addItemToCart(cart.getId(), new AddToCartRequest(productId, 1));
+            return new CreateOrderRequest(cart.getId(),
+                    CustomerInfoDTO.builder()
+                            .customerName("Bench Shopper")
+                            .customerEmail("bench@example.com")
+                            .build(),
+                    AddressDTO.builder()
+                            .street("1 Bench St")
+                            .city("Bench City")
+                            .postalCode("00000")
+                            .country("Benchland")
+                            .build());
+        }
+    }
+
+    @Benchmark
+    public OrderDTO synchronous(Shopper shopper) {
+        return orderService.createOrder(shopper.fillCart(this));
+    }
+
+    @Benchmark
+    public OrderPlacementDTO groupCommit(Shopper shopper) throws Exception {
+        OrderPlacementDTO placement = pipeline.submit(shopper.fillCart(this));
+        return pipeline.awaitPlacement(placement.getTrackingNumber()).get(30, TimeUnit.SECONDS);
+    }
+}
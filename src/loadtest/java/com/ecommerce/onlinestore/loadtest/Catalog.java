@@ -0,0 +1,49 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The synthetic catalog the shoppers work on. Product ids are in popularity order, the first is the hottest.
+ */
+record Catalog(List<Long> productIds, List<String> categories) {
+
+    static final List<String> NOUNS = List.of("Laptop", "Phone", "Headphones", "Keyboard", "Monitor", "Camera",
+            "Speaker", "Watch", "Tablet", "Charger", "Lamp", "Backpack", "Jacket", "Sneakers", "Novel", "Mug");
+
+    private static final List<String> ADJECTIVES = List.of("Compact", "Wireless", "Classic", "Premium", "Smart",
+            "Portable", "Ergonomic", "Vintage");
+
+    private static final List<String> CATEGORIES = List.of("Electronics", "Computers", "Home", "Clothing",
+            "Books", "Sports", "Toys", "Beauty");
+
+    private static final int CHUNK_SIZE = 1000;
+
+    static Catalog seed(ProductRepository productRepository, LoadTestOptions options) {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        List<Long> productIds = new ArrayList<>(options.products());
+        List<Product> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < options.products(); i++) {
+            String noun = NOUNS.get(random.nextInt(NOUNS.size()));
+            chunk.add(Product.builder()
+                    .name(ADJECTIVES.get(random.nextInt(ADJECTIVES.size())) + " " + noun + " " + i)
+                    .description("Load test " + noun.toLowerCase() + " number " + i)
+                    .price(BigDecimal.valueOf(199 + random.nextInt(200_000), 2))
+                    .stockQuantity(options.initialStock())
+                    // Первые категории крупнее, как в живом каталоге
+                    .category(CATEGORIES.get((int) (CATEGORIES.size() * Math.pow(random.nextDouble(), 2))))
+                    .sku("LOAD-" + i)
+                    .build());
+            if (chunk.size() == CHUNK_SIZE || i == options.products() - 1) {
+                productRepository.saveAll(chunk).forEach(product -> productIds.add(product.getId()));
+                chunk.clear();
+            }
+        }
+        return new Catalog(List.copyOf(productIds), CATEGORIES);
+    }
+}
@@ -0,0 +1,300 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import com.ecommerce.onlinestore.OnlineStoreApplication;
+import com.ecommerce.onlinestore.loadtest.SyntheticCatalog.ProductRow;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.service.ReportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills a database with a large synthetic dataset: a skewed product catalog, open carts and a multi-year
+ * order history with items. Rows go in through batched JDBC inserts, one transaction per batch; the same
+ * options and seed always produce the same rows.
+ * <p>
+ * The application context is only started for the schema (ddl-auto) and the rollup rebuild, no web server
+ * or JPA writes are involved. Ids continue after the highest existing id of each table, far below the
+ * Snowflake ids the application assigns, so the application can keep running on the generated data.
+ * For MySQL add {@code rewriteBatchedStatements=true} to the URL, otherwise the driver sends the batches
+ * row by row.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.ecommerce.onlinestore.loadtest.DatasetGenerator
+ * -Dloadtest.args="--products=1000000 --orders=2000000"}, see {@link DatasetOptions} for all options.
+ */
+public class DatasetGenerator {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (id, name, description, price, "
+            + "stock_quantity, stock_shards, category, sku, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+
+    private static final String INSERT_CART = "INSERT INTO carts (id, session_id, total_price, total_items, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CART_ITEM = "INSERT INTO cart_items (id, cart_id, product_id, quantity, "
+            + "unit_price) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (id, order_number, status, total_amount, "
+            + "customer_name, customer_email, customer_phone, shipping_street, shipping_city, shipping_state, "
+            + "shipping_postal_code, shipping_country, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO order_items (id, order_id, product_id, "
+            + "product_name, unit_price, quantity, total_price) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> FIRST_NAMES = List.of("James", "Mary", "Robert", "Patricia", "John",
+            "Jennifer", "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan",
+            "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen");
+
+    private static final List<String> LAST_NAMES = List.of("Smith", "Johnson", "Williams", "Brown", "Jones",
+            "Garcia", "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson",
+            "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin");
+
+    private static final List<String[]> CITIES = List.of(
+            new String[]{"New York", "NY", "USA"}, new String[]{"Los Angeles", "CA", "USA"},
+            new String[]{"Chicago", "IL", "USA"}, new String[]{"Houston", "TX", "USA"},
+            new String[]{"Toronto", "ON", "Canada"}, new String[]{"London", null, "United Kingdom"},
+            new String[]{"Berlin", null, "Germany"}, new String[]{"Paris", null, "France"},
+            new String[]{"Madrid", null, "Spain"}, new String[]{"Sydney", "NSW", "Australia"});
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatasetOptions options;
+    private final LocalDateTime until;
+    private final LocalDateTime since;
+
+    DatasetGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, DatasetOptions options) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.options = options;
+        this.until = options.until().atStartOfDay();
+        this.since = until.minusYears(options.years());
+    }
+
+    public static void main(String[] args) {
+        DatasetOptions options = DatasetOptions.parse(args);
+        try (ConfigurableApplicationContext context = start(options)) {
+            new DatasetGenerator(context.getBean(JdbcTemplate.class), context.getBean(TransactionTemplate.class),
+                    options).generate();
+            if (options.rebuildRollups()) {
+                long start = System.nanoTime();
+                context.getBean(ReportService.class).rebuildRollups();
+                System.out.printf("Rebuilt reporting rollups in %d s%n",
+                        Duration.ofNanos(System.nanoTime() - start).toSeconds());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(DatasetOptions options) {
+        return new SpringApplicationBuilder(OnlineStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + options.url(),
+                        "--spring.datasource.username=" + options.user(),
+                        "--spring.datasource.password=" + options.password(),
+                        // Пустое значение - драйвер определяется по URL
+                        "--spring.datasource.driver-class-name=",
+                        "--spring.jpa.hibernate.ddl-auto=" + options.ddlAuto(),
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ecommerce.onlinestore=WARN",
+                        "--app.cart.reaper.enabled=false",
+                        "--app.order-expiry.enabled=false",
+                        "--app.outbox.enabled=false",
+                        "--app.reporting.backfill-on-startup=false");
+    }
+
+    void generate() {
+        SyntheticCatalog catalog = new SyntheticCatalog(options.seed(), nextId("products"), options.products(),
+                options.skew(), since, until);
+        loadProducts(catalog);
+        loadCarts(catalog);
+        loadOrders(catalog);
+    }
+
+    private void loadProducts(SyntheticCatalog catalog) {
+        Progress progress = new Progress("products", catalog.size());
+        List<Object[]> rows = new ArrayList<>(options.batchSize());
+        for (int index = 0; index < catalog.size(); index++) {
+            ProductRow product = catalog.product(index);
+            rows.add(new Object[]{product.id(), product.name(), product.description(), product.price(),
+                    product.stock(), product.category(), product.sku(), Timestamp.valueOf(product.createdAt()),
+                    Timestamp.valueOf(product.updatedAt())});
+            if (rows.size() == options.batchSize() || index == catalog.size() - 1) {
+                insert(INSERT_PRODUCT, rows, null, null);
+                progress.add(rows.size());
+                rows.clear();
+            }
+        }
+        progress.done();
+    }
+
+    // Открытые корзины последних 30 дней, часть из них давно не менялась
+    private void loadCarts(SyntheticCatalog catalog) {
+        SplittableRandom random = new SplittableRandom(options.seed() ^ 0x636172747331L);
+        long cartId = nextId("carts");
+        long itemId = nextId("cart_items");
+        Progress progress = new Progress("carts", options.carts());
+        List<Object[]> carts = new ArrayList<>(options.batchSize());
+        List<Object[]> items = new ArrayList<>(options.batchSize() * 3);
+        for (int i = 0; i < options.carts(); i++, cartId++) {
+            LocalDateTime createdAt = until.minusSeconds(random.nextLong(Duration.ofDays(30).toSeconds()));
+            LocalDateTime updatedAt = min(createdAt.plusMinutes(random.nextInt(48 * 60)), until);
+            BigDecimal totalPrice = BigDecimal.ZERO;
+            int totalItems = 0;
+            for (int index : pickProducts(catalog, random, 1 + random.nextInt(5))) {
+                ProductRow product = catalog.product(index);
+                int quantity = 1 + random.nextInt(3);
+                items.add(new Object[]{itemId++, cartId, product.id(), quantity, product.price()});
+                totalPrice = totalPrice.add(product.price().multiply(BigDecimal.valueOf(quantity)));
+                totalItems += quantity;
+            }
+            carts.add(new Object[]{cartId, "gen-session-" + cartId, totalPrice, totalItems,
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt)});
+            if (carts.size() == options.batchSize() || i == options.carts() - 1) {
+                insert(INSERT_CART, carts, INSERT_CART_ITEM, items);
+                progress.add(carts.size());
+                carts.clear();
+                items.clear();
+            }
+        }
+        progress.done();
+    }
+
+    private void loadOrders(SyntheticCatalog catalog) {
+        SplittableRandom random = new SplittableRandom(options.seed() ^ 0x6f7264657273L);
+        long orderId = nextId("orders");
+        long itemId = nextId("order_items");
+        long spanSeconds = Duration.between(since, until).toSeconds();
+        int customers = Math.max(1, options.orders() / 5);
+        Progress progress = new Progress("orders", options.orders());
+        List<Object[]> orders = new ArrayList<>(options.batchSize());
+        List<Object[]> items = new ArrayList<>(options.batchSize() * 3);
+        for (int i = 0; i < options.orders(); i++, orderId++) {
+            // Плотность растет к концу периода: магазин растет
+            LocalDateTime createdAt = since.plusSeconds((long) (Math.pow(random.nextDouble(), 0.6) * spanSeconds));
+            Duration age = Duration.between(createdAt, until);
+            OrderStatus status = statusFor(age, random);
+            LocalDateTime updatedAt = status == OrderStatus.PENDING
+                    ? createdAt
+                    : min(createdAt.plusHours(1 + random.nextInt(14 * 24)), until);
+
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            for (int index : pickProducts(catalog, random, itemCount(random))) {
+                ProductRow product = catalog.product(index);
+                int quantity = random.nextDouble() < 0.8 ? 1 : 2 + random.nextInt(3);
+                BigDecimal totalPrice = product.price().multiply(BigDecimal.valueOf(quantity));
+                items.add(new Object[]{itemId++, orderId, product.id(), product.name(), product.price(), quantity,
+                        totalPrice});
+                totalAmount = totalAmount.add(totalPrice);
+            }
+
+            int customer = random.nextInt(customers);
+            String firstName = FIRST_NAMES.get(customer % FIRST_NAMES.size());
+            String lastName = LAST_NAMES.get(customer / FIRST_NAMES.size() % LAST_NAMES.size());
+            String[] city = CITIES.get(customer % CITIES.size());
+            orders.add(new Object[]{orderId, "GEN-" + orderId, status.name(), totalAmount,
+                    firstName + " " + lastName,
+                    (firstName + "." + lastName).toLowerCase() + customer + "@example.com",
+                    String.format("+1555%07d", customer % 10_000_000),
+                    (1 + customer % 999) + " Main St", city[0], city[1], String.format("%05d", customer % 100_000),
+                    city[2], Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt)});
+            if (orders.size() == options.batchSize() || i == options.orders() - 1) {
+                insert(INSERT_ORDER, orders, INSERT_ORDER_ITEM, items);
+                progress.add(orders.size());
+                orders.clear();
+                items.clear();
+            }
+        }
+        progress.done();
+    }
+
+    // Свежие заказы еще в работе, старые доставлены или отменены
+    private static OrderStatus statusFor(Duration age, SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (age.toHours() < 24) {
+            return roll < 0.5 ? OrderStatus.PENDING : roll < 0.8 ? OrderStatus.CONFIRMED : OrderStatus.PROCESSING;
+        }
+        if (age.toDays() < 7) {
+            return roll < 0.1 ? OrderStatus.CONFIRMED : roll < 0.4 ? OrderStatus.PROCESSING
+                    : roll < 0.9 ? OrderStatus.SHIPPED : OrderStatus.CANCELLED;
+        }
+        return roll < 0.91 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+    }
+
+    // 1 + геометрическое распределение: в основном одна-две строки, изредка до десяти
+    private static int itemCount(SplittableRandom random) {
+        int count = 1;
+        while (count < 10 && random.nextDouble() < 0.45) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Set<Integer> pickProducts(SyntheticCatalog catalog, SplittableRandom random, int count) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        int attempts = 0;
+        while (picked.size() < Math.min(count, catalog.size()) && attempts++ < count * 10) {
+            picked.add(catalog.pickPopular(random));
+        }
+        return picked;
+    }
+
+    private void insert(String sql, List<Object[]> rows, String childSql, List<Object[]> childRows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(sql, rows);
+            if (childSql != null && !childRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(childSql, childRows);
+            }
+        });
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId != null ? maxId + 1 : 1;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static final class Progress {
+
+        private final String table;
+        private final long total;
+        private final long start = System.nanoTime();
+        private long written;
+        private long nextReport;
+
+        Progress(String table, long total) {
+            this.table = table;
+            this.total = total;
+            this.nextReport = Math.max(1, total / 10);
+        }
+
+        void add(int rows) {
+            written += rows;
+            if (written >= nextReport && written < total) {
+                System.out.printf("  %s: %d / %d%n", table, written, total);
+                nextReport += Math.max(1, total / 10);
+            }
+        }
+
+        void done() {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Loaded %d %s in %.1f s (%.0f rows/s)%n", written, table, seconds,
+                    written / Math.max(seconds, 1e-3));
+        }
+    }
+}
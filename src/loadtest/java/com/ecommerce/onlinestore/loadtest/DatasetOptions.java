@@ -0,0 +1,57 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import java.time.LocalDate;
+
+/**
+ * Command line of {@link DatasetGenerator}, every option as {@code --name=value}:
+ * <pre>
+ * --url=jdbc:h2:file:./target/dataset/onlinestore   JDBC URL of the target database
+ * --user=sa --password=
+ * --ddl-auto=create       schema handling as spring.jpa.hibernate.ddl-auto; use none or validate for MySQL
+ * --products=1000000
+ * --carts=100000
+ * --orders=2000000
+ * --years=3               order history reaches this far back
+ * --until=today           end of the history (yyyy-MM-dd), pin it for identical data on different days
+ * --skew=3.0              product popularity, 1 is uniform
+ * --batch-size=1000       rows per JDBC batch and transaction
+ * --seed=42
+ * --rebuild-rollups=true  recompute the reporting rollups from the generated orders
+ * </pre>
+ */
+record DatasetOptions(String url,
+                      String user,
+                      String password,
+                      String ddlAuto,
+                      int products,
+                      int carts,
+                      int orders,
+                      int years,
+                      LocalDate until,
+                      double skew,
+                      int batchSize,
+                      long seed,
+                      boolean rebuildRollups) {
+
+    static DatasetOptions parse(String[] args) {
+        Arguments arguments = new Arguments(args);
+        DatasetOptions options = new DatasetOptions(
+                arguments.get("url", "jdbc:h2:file:./target/dataset/onlinestore;MODE=MySQL"),
+                arguments.get("user", "sa"),
+                arguments.get("password", ""),
+                arguments.get("ddl-auto", "create"),
+                arguments.getInt("products", 1_000_000),
+                arguments.getInt("carts", 100_000),
+                arguments.getInt("orders", 2_000_000),
+                arguments.getInt("years", 3),
+                LocalDate.parse(arguments.get("until", LocalDate.now().toString())),
+                arguments.getDouble("skew", 3.0),
+                arguments.getInt("batch-size", 1000),
+                arguments.getLong("seed", 42),
+                Boolean.parseBoolean(arguments.get("rebuild-rollups", "true")));
+        if (options.products() < 1 || options.years() < 1 || options.batchSize() < 1 || options.skew() < 1) {
+            throw new IllegalArgumentException("products, years and batch-size must be positive, skew at least 1");
+        }
+        return options;
+    }
+}
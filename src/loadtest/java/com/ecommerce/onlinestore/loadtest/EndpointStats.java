@@ -0,0 +1,100 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome of every call, per endpoint template such as {@code GET /api/products/{id}}.
+ * <p>
+ * Users are closed-loop: a slow response delays the next request of that user, so under saturation the
+ * percentiles understate what an open stream of shoppers would see. Compare runs at the same user count.
+ */
+class EndpointStats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, Outcome outcome) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latency.recordValue(latencyNanos);
+        switch (outcome) {
+            case ERROR -> stats.errors.increment();
+            case OUT_OF_STOCK -> stats.outOfStock.increment();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, called when the warmup ends.
+     */
+    void reset() {
+        endpoints.values().forEach(Endpoint::reset);
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.errors.sum()).sum();
+    }
+
+    void print(Duration elapsed, PrintStream out) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%-42s %9s %9s %9s %9s %9s %9s %9s %8s %8s%n", "Endpoint", "Requests", "Req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms", "Errors", "No stock");
+        Histogram all = null;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram histogram = endpoint.latency.getIntervalHistogram();
+            printRow(out, entry.getKey(), histogram, seconds, endpoint.errors.sum(), endpoint.outOfStock.sum());
+            if (all == null) {
+                all = histogram.copy();
+            } else {
+                all.add(histogram);
+            }
+        }
+        if (all != null) {
+            printRow(out, "TOTAL", all, seconds, totalErrors(),
+                    endpoints.values().stream().mapToLong(endpoint -> endpoint.outOfStock.sum()).sum());
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, double seconds,
+                                 long errors, long outOfStock) {
+        out.printf("%-42s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %8d%n", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), errors, outOfStock);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    enum Outcome {
+        OK,
+        /** Rejected because of stock, expected once popular products sell out. */
+        OUT_OF_STOCK,
+        ERROR
+    }
+
+    private static class Endpoint {
+
+        // 3 значащие цифры, диапазон растет сам
+        private final Recorder latency = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder outOfStock = new LongAdder();
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            outOfStock.reset();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.onlinestore.loadtest;
+
+/**
+ * What a virtual user does in one pass; the share of each is set by {@code --mix}.
+ */
+enum Journey {
+
+    /** Catalog pages, a category, a name search and a few product pages. */
+    BROWSE,
+
+    /** Fills a cart, changes a quantity, looks at it and abandons it. */
+    CART,
+
+    /** Fills a cart and places the order from it. */
+    CHECKOUT
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Command line of {@link LoadTestRunner}, every option as {@code --name=value}:
+ * <pre>
+ * --users=50              virtual users, each a thread running journeys back to back
+ * --duration=60           measured seconds
+ * --warmup=15             seconds before measuring, the results of this phase are dropped
+ * --products=10000        catalog size
+ * --stock=200             initial stock of every product
+ * --skew=2.0              1 picks products uniformly, higher values concentrate on the first ones
+ * --think-time=0          milliseconds a user waits between journeys
+ * --mix=browse:70,cart:20,checkout:10
+ * --seed=42
+ * </pre>
+ */
+record LoadTestOptions(int users,
+                       Duration duration,
+                       Duration warmup,
+                       int products,
+                       int initialStock,
+                       double skew,
+                       Duration thinkTime,
+                       Map<Journey, Integer> mix,
+                       long seed) {
+
+    static LoadTestOptions parse(String[] args) {
+        Arguments arguments = new Arguments(args);
+        LoadTestOptions options = new LoadTestOptions(
+                arguments.getInt("users", 50),
+                Duration.ofSeconds(arguments.getLong("duration", 60)),
+                Duration.ofSeconds(arguments.getLong("warmup", 15)),
+                arguments.getInt("products", 10000),
+                arguments.getInt("stock", 200),
+                arguments.getDouble("skew", 2.0),
+                Duration.ofMillis(arguments.getLong("think-time", 0)),
+                parseMix(arguments.get("mix", "browse:70,cart:20,checkout:10")),
+                arguments.getLong("seed", 42));
+        if (options.users() < 1 || options.products() < 1 || options.skew() < 1) {
+            throw new IllegalArgumentException("users and products must be positive, skew at least 1");
+        }
+        return options;
+    }
+
+    Journey pickJourney(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Journey, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty journey mix");
+    }
+
+    // Индекс 0 - самый популярный товар
+    int pickProduct(SplittableRandom random) {
+        return (int) (products * Math.pow(random.nextDouble(), skew));
+    }
+
+    private static Map<Journey, Integer> parseMix(String value) {
+        Map<Journey, Integer> mix = new EnumMap<>(Journey.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Journey.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Journey mix must have a positive weight: " + value);
+        }
+        return mix;
+    }
+}
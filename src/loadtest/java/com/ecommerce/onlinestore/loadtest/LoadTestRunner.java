@@ -0,0 +1,157 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import com.ecommerce.onlinestore.OnlineStoreApplication;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded load test: boots the application on the in-memory H2 database of the test profile, seeds a
+ * synthetic catalog and lets virtual users run browse, cart and checkout journeys over real HTTP.
+ * Prints per-endpoint throughput and latency percentiles, then checks that no product was oversold.
+ * Exits with 1 when stock went wrong, so it can gate a build.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users=100 --duration=120"},
+ * see {@link LoadTestOptions} for all options.
+ */
+public class LoadTestRunner {
+
+    // Остаток с учетом шардов, как его видит резервирование
+    private static final String STOCK_QUERY = "SELECT p.id, CASE WHEN p.stock_shards > 0 THEN "
+            + "(SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = p.id) "
+            + "ELSE p.stock_quantity END AS stock FROM products p";
+
+    private static final String SOLD_QUERY = "SELECT oi.product_id, SUM(oi.quantity) AS sold FROM order_items oi "
+            + "JOIN orders o ON o.id = oi.order_id WHERE o.status <> 'CANCELLED' GROUP BY oi.product_id";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode;
+        try (ConfigurableApplicationContext context = start()) {
+            exitCode = run(context, options) ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Аргументами командной строки, а не properties(): те ниже application.yml и не выключили бы show_sql
+        return new SpringApplicationBuilder(OnlineStoreApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ecommerce.onlinestore=WARN",
+                        "--logging.level.org.springframework.test.context=WARN",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--server.tomcat.threads.max=400",
+                        "--spring.datasource.hikari.maximum-pool-size=32");
+    }
+
+    private static boolean run(ConfigurableApplicationContext context, LoadTestOptions options) throws Exception {
+        System.out.printf("Seeding %d products...%n", options.products());
+        Catalog catalog = Catalog.seed(context.getBean(ProductRepository.class), options);
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        EndpointStats stats = new EndpointStats();
+        ShopperJourneys journeys = new ShopperJourneys(client, "http://localhost:" + port,
+                context.getBean(ObjectMapper.class), stats, options, catalog);
+
+        Map<Journey, LongAdder> completed = new EnumMap<>(Journey.class);
+        Map<Journey, LongAdder> failed = new EnumMap<>(Journey.class);
+        for (Journey journey : Journey.values()) {
+            completed.put(journey, new LongAdder());
+            failed.put(journey, new LongAdder());
+        }
+
+        System.out.printf("Running %d users: %ds warmup, %ds measured%n", options.users(),
+                options.warmup().toSeconds(), options.duration().toSeconds());
+        long deadline = System.nanoTime() + options.warmup().plus(options.duration()).toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(options.users());
+        List<Future<?>> running = new ArrayList<>(options.users());
+        for (int user = 0; user < options.users(); user++) {
+            SplittableRandom random = new SplittableRandom(options.seed() * 31 + user);
+            running.add(users.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    Journey journey = options.pickJourney(random);
+                    (journeys.run(journey, random) ? completed : failed).get(journey).increment();
+                    if (!options.thinkTime().isZero()) {
+                        Thread.sleep(options.thinkTime().toMillis());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Thread.sleep(options.warmup().toMillis());
+        stats.reset();
+        completed.values().forEach(LongAdder::reset);
+        failed.values().forEach(LongAdder::reset);
+        long measuredFrom = System.nanoTime();
+        for (Future<?> user : running) {
+            user.get();
+        }
+        Duration measured = Duration.ofNanos(System.nanoTime() - measuredFrom);
+        users.shutdown();
+        users.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.println();
+        stats.print(measured, System.out);
+        System.out.println();
+        for (Journey journey : Journey.values()) {
+            System.out.printf("%-10s %9d completed %9d failed%n", journey, completed.get(journey).sum(),
+                    failed.get(journey).sum());
+        }
+        return checkStock(context.getBean(JdbcTemplate.class), options);
+    }
+
+    /**
+     * Every unit sold must have come out of the initial stock: no product below zero, none sold beyond it,
+     * and stock plus sold units adding up to the initial stock (no lost or doubled stock update).
+     */
+    private static boolean checkStock(JdbcTemplate jdbcTemplate, LoadTestOptions options) {
+        Map<Long, Long> sold = new HashMap<>();
+        jdbcTemplate.query(SOLD_QUERY, rs -> {
+            sold.put(rs.getLong("product_id"), rs.getLong("sold"));
+        });
+        long unitsSold = sold.values().stream().mapToLong(Long::longValue).sum();
+        long[] oversold = {0};
+        long[] drifted = {0};
+        long[] soldOut = {0};
+        jdbcTemplate.query(STOCK_QUERY, rs -> {
+            long stock = rs.getLong("stock");
+            long productSold = sold.getOrDefault(rs.getLong("id"), 0L);
+            if (stock < 0 || productSold > options.initialStock()) {
+                oversold[0]++;
+            }
+            if (stock + productSold != options.initialStock()) {
+                drifted[0]++;
+            }
+            if (stock == 0) {
+                soldOut[0]++;
+            }
+        });
+
+        System.out.printf("%nUnits sold: %d, products sold out: %d, oversold: %d, stock drift: %d%n",
+                unitsSold, soldOut[0], oversold[0], drifted[0]);
+        return oversold[0] == 0 && drifted[0] == 0;
+    }
+}
@@ -0,0 +1,203 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import com.ecommerce.onlinestore.loadtest.EndpointStats.Outcome;
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.AddressDTO;
+import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.CustomerInfoDTO;
+import com.ecommerce.onlinestore.model.dto.UpdateCartItemRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The shopper journeys, driven over HTTP against the running application like a browser would.
+ * A failed step ends its journey, the next steps would only fail for the same reason.
+ */
+class ShopperJourneys {
+
+    private static final String INSUFFICIENT_STOCK = "Insufficient stock";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final EndpointStats stats;
+    private final LoadTestOptions options;
+    private final Catalog catalog;
+
+    ShopperJourneys(HttpClient client, String baseUrl, ObjectMapper objectMapper, EndpointStats stats,
+                    LoadTestOptions options, Catalog catalog) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.options = options;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Returns whether every step of the journey succeeded.
+     */
+    boolean run(Journey journey, SplittableRandom random) throws InterruptedException {
+        return switch (journey) {
+            case BROWSE -> browse(random);
+            case CART -> abandonCart(random);
+            case CHECKOUT -> checkout(random);
+        };
+    }
+
+    private boolean browse(SplittableRandom random) throws InterruptedException {
+        if (get("GET /api/products", "/api/products?page=" + random.nextInt(5) + "&size=20") == null) {
+            return false;
+        }
+        String category = catalog.categories().get(random.nextInt(catalog.categories().size()));
+        if (get("GET /api/products/category/{category}",
+                "/api/products/category/" + encode(category) + "?size=20") == null) {
+            return false;
+        }
+        String word = Catalog.NOUNS.get(random.nextInt(Catalog.NOUNS.size()));
+        if (get("GET /api/products/search", "/api/products/search?name=" + encode(word) + "&size=20") == null) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            if (get("GET /api/products/{id}", "/api/products/" + pickProduct(random)) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean abandonCart(SplittableRandom random) throws InterruptedException {
+        JsonNode cart = fillCart(random);
+        if (cart == null) {
+            return false;
+        }
+        long cartId = cart.get("id").asLong();
+        JsonNode items = cart.get("items");
+        if (!items.isEmpty() && random.nextBoolean()) {
+            JsonNode item = items.get(random.nextInt(items.size()));
+            UpdateCartItemRequest update = new UpdateCartItemRequest(item.get("quantity").asInt() + 1);
+            if (send("PUT /api/carts/{cartId}/items/{itemId}", json(HttpRequest.newBuilder(
+                    uri("/api/carts/" + cartId + "/items/" + item.get("id").asLong())), update, "PUT")) == null) {
+                return false;
+            }
+        }
+        return get("GET /api/carts/{cartId}", "/api/carts/" + cartId) != null
+                && send("DELETE /api/carts/{cartId}", HttpRequest.newBuilder(uri("/api/carts/" + cartId))
+                .DELETE().build()) != null;
+    }
+
+    private boolean checkout(SplittableRandom random) throws InterruptedException {
+        JsonNode cart = fillCart(random);
+        if (cart == null || cart.get("items").isEmpty()) {
+            return false;
+        }
+        CreateOrderRequest request = new CreateOrderRequest(cart.get("id").asLong(),
+                CustomerInfoDTO.builder()
+                        .customerName("Load Shopper")
+                        .customerEmail("shopper" + random.nextInt(options.users() * 100) + "@example.com")
+                        .customerPhone("+1234567890")
+                        .build(),
+                AddressDTO.builder()
+                        .street("123 Main St")
+                        .city("New York")
+                        .state("NY")
+                        .postalCode("10001")
+                        .country("USA")
+                        .build());
+        JsonNode order = send("POST /api/orders", json(HttpRequest.newBuilder(uri("/api/orders"))
+                .header("Idempotency-Key", UUID.randomUUID().toString()), request, "POST"));
+        return order != null && get("GET /api/orders/{orderId}", "/api/orders/" + order.get("id").asLong()) != null;
+    }
+
+    // Одна-четыре строки по одной-две штуки популярных товаров; последний успешный ответ - корзина
+    private JsonNode fillCart(SplittableRandom random) throws InterruptedException {
+        JsonNode cart = send("POST /api/carts", HttpRequest.newBuilder(uri("/api/carts"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+        if (cart == null) {
+            return null;
+        }
+        long cartId = cart.get("id").asLong();
+        int lines = 1 + random.nextInt(4);
+        for (int i = 0; i < lines; i++) {
+            AddToCartRequest add = new AddToCartRequest(pickProduct(random), 1 + random.nextInt(2));
+            JsonNode updated = send("POST /api/carts/{cartId}/items", json(HttpRequest.newBuilder(
+                    uri("/api/carts/" + cartId + "/items")), add, "POST"));
+            if (updated != null) {
+                cart = updated;
+            }
+        }
+        return cart;
+    }
+
+    private long pickProduct(SplittableRandom random) {
+        return catalog.productIds().get(options.pickProduct(random));
+    }
+
+    private JsonNode get(String endpoint, String path) throws InterruptedException {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).GET().build());
+    }
+
+    /**
+     * Sends the request and records it under {@code endpoint}. Returns the parsed body, or null when the call failed.
+     */
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, Outcome.ERROR);
+            return null;
+        }
+        long latency = System.nanoTime() - start;
+
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            stats.record(endpoint, latency, Outcome.OK);
+            return readBody(response.body());
+        }
+        boolean outOfStock = status == 400 && response.body().contains(INSUFFICIENT_STOCK);
+        stats.record(endpoint, latency, outOfStock ? Outcome.OUT_OF_STOCK : Outcome.ERROR);
+        return null;
+    }
+
+    private JsonNode readBody(String body) {
+        if (body.isEmpty()) {
+            return objectMapper.nullNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable response body: " + body, e);
+        }
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, Object body, String method) {
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.onlinestore.loadtest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Products of the generated dataset. Every product is a pure function of the seed and its index, so order
+ * and cart items can refer to any product without the catalog being held in memory.
+ * <p>
+ * Categories follow a Zipf-like size distribution, prices are log-normal around a per-category base,
+ * and popularity is skewed by index: low indexes sell far more than the long tail.
+ */
+final class SyntheticCatalog {
+
+    private static final List<Category> CATEGORIES = List.of(
+            new Category("Electronics", 350, List.of("Phone", "Laptop", "Headphones", "Camera", "Tablet", "Monitor")),
+            new Category("Home & Kitchen", 60, List.of("Blender", "Kettle", "Lamp", "Frying Pan", "Chair", "Rug")),
+            new Category("Clothing", 45, List.of("Jacket", "Sneakers", "T-Shirt", "Jeans", "Dress", "Scarf")),
+            new Category("Books", 18, List.of("Novel", "Cookbook", "Travel Guide", "Biography", "Atlas")),
+            new Category("Sports", 55, List.of("Yoga Mat", "Dumbbell Set", "Tent", "Helmet", "Football")),
+            new Category("Beauty", 25, List.of("Serum", "Perfume", "Lipstick", "Shampoo", "Face Cream")),
+            new Category("Toys", 30, List.of("Puzzle", "Robot Kit", "Doll", "Board Game", "Building Blocks")),
+            new Category("Automotive", 70, List.of("Dash Cam", "Tire Inflator", "Seat Cover", "Car Charger")),
+            new Category("Garden", 40, List.of("Garden Hose", "Planter", "Hedge Trimmer", "Seed Kit")),
+            new Category("Grocery", 12, List.of("Coffee Beans", "Green Tea", "Olive Oil", "Dark Chocolate")),
+            new Category("Office", 15, List.of("Notebook", "Desk Organizer", "Pen Set", "Desk Lamp")),
+            new Category("Pet Supplies", 35, List.of("Dog Bed", "Cat Tree", "Leash", "Pet Fountain")));
+
+    private static final List<String> BRANDS = List.of("Acme", "Northwind", "Contoso", "Globex", "Initech",
+            "Umbrella", "Stark", "Wayne", "Tyrell", "Cyberdyne", "Soylent", "Hooli");
+
+    private static final List<String> ADJECTIVES = List.of("Compact", "Wireless", "Classic", "Premium", "Smart",
+            "Portable", "Ergonomic", "Vintage", "Eco", "Pro", "Ultra", "Essential");
+
+    private static final List<String> FEATURES = List.of("Built to last with durable materials.",
+            "Backed by a two-year warranty.", "Lightweight and easy to carry.", "Ships in recyclable packaging.",
+            "Rated highly by thousands of customers.", "Designed for everyday use.",
+            "Available in several colours.", "Easy to clean and maintain.");
+
+    private static final double[] CUMULATIVE_CATEGORY_WEIGHTS = cumulativeZipfWeights(CATEGORIES.size(), 1.1);
+
+    private final long seed;
+    private final long firstId;
+    private final int count;
+    private final double popularitySkew;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final long spanSeconds;
+
+    SyntheticCatalog(long seed, long firstId, int count, double popularitySkew, LocalDateTime from,
+                     LocalDateTime to) {
+        this.seed = seed;
+        this.firstId = firstId;
+        this.count = count;
+        this.popularitySkew = popularitySkew;
+        this.from = from;
+        this.to = to;
+        this.spanSeconds = Duration.between(from, to).toSeconds();
+    }
+
+    int size() {
+        return count;
+    }
+
+    ProductRow product(int index) {
+        // Свой генератор на товар: строка не зависит от порядка обращений
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003L + index);
+        Category category = CATEGORIES.get(pickCategory(random.nextDouble()));
+        String noun = category.nouns().get(random.nextInt(category.nouns().size()));
+        String brand = BRANDS.get(random.nextInt(BRANDS.size()));
+        String adjective = ADJECTIVES.get(random.nextInt(ADJECTIVES.size()));
+
+        double price = category.basePrice() * Math.exp(0.7 * random.nextGaussian());
+        long cents = Math.max(99, Math.min(9_999_999, Math.round(price) * 100 - 1));
+        int stock = random.nextDouble() < 0.04 ? 0 : 1 + (int) (-80 * Math.log(1 - random.nextDouble()));
+        LocalDateTime createdAt = from.plusSeconds((long) (random.nextDouble() * spanSeconds));
+
+        long id = firstId + index;
+        return new ProductRow(id,
+                brand + " " + adjective + " " + noun + " " + (100 + random.nextInt(900)),
+                adjective + " " + noun.toLowerCase() + " by " + brand + ". "
+                        + FEATURES.get(random.nextInt(FEATURES.size())) + " "
+                        + FEATURES.get(random.nextInt(FEATURES.size())),
+                BigDecimal.valueOf(cents, 2),
+                stock,
+                category.name(),
+                String.format("GEN-%09d", id),
+                createdAt,
+                min(createdAt.plusDays(random.nextInt(30)), to));
+    }
+
+    /**
+     * Index of a product picked by popularity.
+     */
+    int pickPopular(SplittableRandom random) {
+        return (int) (count * Math.pow(random.nextDouble(), popularitySkew));
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static int pickCategory(double roll) {
+        for (int i = 0; i < CUMULATIVE_CATEGORY_WEIGHTS.length - 1; i++) {
+            if (roll < CUMULATIVE_CATEGORY_WEIGHTS[i]) {
+                return i;
+            }
+        }
+        return CUMULATIVE_CATEGORY_WEIGHTS.length - 1;
+    }
+
+    private static double[] cumulativeZipfWeights(int size, double exponent) {
+        double[] weights = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            weights[rank - 1] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    record ProductRow(long id, String name, String description, BigDecimal price, int stock, String category,
+                      String sku, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private record Category(String name, double basePrice, List<String> nouns) {
+    }
+}
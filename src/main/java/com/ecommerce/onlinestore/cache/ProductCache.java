@@ -0,0 +1,93 @@
+package com.ecommerce.onlinestore.cache;
+
+import com.ecommerce.onlinestore.config.ProductCacheProperties;
+import com.ecommerce.onlinestore.mapper.ProductMapper;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of product snapshots keyed by id, with a SKU to id lookup on top.
+ * Entries expire after {@code app.product-cache.ttl}; local writes evict them explicitly.
+ */
+@Slf4j
+@Component
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final Cache<Long, ProductDTO> productsById;
+    private final Cache<String, Long> productIdsBySku;
+
+    public ProductCache(ProductRepository productRepository,
+                        ProductMapper productMapper,
+                        ProductCacheProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.productIdsBySku = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "products.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, productIdsBySku, "products.by-sku");
+    }
+
+    public ProductDTO getById(Long productId) {
+        return productsById.get(productId, id -> productRepository.findById(id)
+                .map(productMapper::toDTO)
+                .orElseThrow(() -> new ProductNotFoundException(id)));
+    }
+
+    public ProductDTO getBySku(String sku) {
+        Long productId = productIdsBySku.getIfPresent(sku);
+        if (productId != null) {
+            ProductDTO cached = productsById.getIfPresent(productId);
+            if (cached != null && sku.equals(cached.getSku())) {
+                return cached;
+            }
+        }
+
+        ProductDTO product = productRepository.findBySku(sku)
+                .map(productMapper::toDTO)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with SKU: " + sku));
+        productsById.put(product.getId(), product);
+        productIdsBySku.put(sku, product.getId());
+        return product;
+    }
+
+    public void evict(Long productId) {
+        productsById.invalidate(productId);
+
+        // A reader may re-cache the pre-commit row before this transaction finishes,
+        // so evict once more when it completes (commit or rollback)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    productsById.invalidate(productId);
+                }
+            });
+        }
+        log.debug("Evicted product {} from cache", productId);
+    }
+
+    public void evictAll() {
+        productsById.invalidateAll();
+        productIdsBySku.invalidateAll();
+    }
+}
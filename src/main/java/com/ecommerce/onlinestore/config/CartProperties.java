@@ -0,0 +1,42 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cart")
+public class CartProperties {
+
+    // Корзины без изменений дольше этого срока считаются брошенными
+    private int sessionTimeoutHours = 24;
+
+    private Reaper reaper = new Reaper();
+
+    @Data
+    public static class Reaper {
+
+        private boolean enabled = true;
+
+        private Duration interval = Duration.ofMinutes(5);
+
+        private int initialChunkSize = 500;
+
+        private int minChunkSize = 50;
+
+        private int maxChunkSize = 5_000;
+
+        // Чанк дольше этого времени уменьшается вдвое, заметно быстрее - увеличивается
+        private Duration targetChunkLatency = Duration.ofMillis(200);
+
+        // Пауза после чанка как доля его длительности: 1.0 - удаление занимает не больше половины времени
+        private double pauseRatio = 1.0;
+
+        private Duration maxPause = Duration.ofSeconds(2);
+
+        private Duration maxRunTime = Duration.ofMinutes(1);
+    }
+}
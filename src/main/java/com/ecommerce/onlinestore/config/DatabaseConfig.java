@@ -14,11 +14,12 @@ public class DatabaseConfig {
     // Базовая конфигурация через application.yml
     // Дополнительные настройки можно добавить здесь
 
+    // Для MySQL нужен useCursorFetch=true, иначе потоковый экспорт читает весь результат в память
     /*
     @Bean
     public DataSource dataSource() {
         return DataSourceBuilder.create()
-                .url("jdbc:mysql://localhost:3306/online_store")
+                .url("jdbc:mysql://localhost:3306/online_store?useCursorFetch=true")
                 .username("root")
                 .password("password")
                 .driverClassName("com.mysql.cj.jdbc.Driver")
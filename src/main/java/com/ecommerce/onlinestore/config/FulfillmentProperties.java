@@ -0,0 +1,24 @@
+package com.ecommerce.onlinestore.config;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.fulfillment")
+public class FulfillmentProperties {
+
+    // Заказы в этих статусах ждут обработчика
+    private List<OrderStatus> claimableStatuses = new ArrayList<>(List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+    // Без продления аренды заказы после этого срока снова доступны другим обработчикам
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    private int maxClaimSize = 100;
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.onlinestore.config;
+
+import com.ecommerce.onlinestore.id.IdGenerator;
+import com.ecommerce.onlinestore.id.IdGenerators;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(IdGeneratorProperties properties) {
+        IdGenerator generator = IdGenerators.snowflake(properties.getNodeId());
+        IdGenerators.install(generator);
+        log.info("Using snowflake id generator with node id {}", properties.getNodeId());
+        return generator;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.id-generator")
+public class IdGeneratorProperties {
+
+    // Must be unique per running instance (0..1023), otherwise instances can issue the same ids
+    private int nodeId = 0;
+}
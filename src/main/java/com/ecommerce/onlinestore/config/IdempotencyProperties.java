@@ -0,0 +1,24 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    // Сколько ключей держим в памяти, остальные читаются из БД
+    private long maximumSize = 10_000;
+
+    // Сколько хранится ответ по ключу
+    private Duration ttl = Duration.ofHours(24);
+
+    // Сколько повторный запрос ждет завершения исходного
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.inventory")
+public class InventoryProperties {
+
+    // Сколько держится резерв товара в корзине без изменений корзины
+    private Duration holdTtl = Duration.ofMinutes(15);
+
+    // Точность истечения резервов
+    private Duration expiryTick = Duration.ofSeconds(1);
+
+    private int wheelSize = 1024;
+
+    private ShardMaintenance shardMaintenance = new ShardMaintenance();
+
+    @Data
+    public static class ShardMaintenance {
+
+        private boolean enabled = true;
+
+        // Как часто пересчитывается stock_quantity товаров с шардированным остатком
+        private Duration interval = Duration.ofSeconds(1);
+    }
+}
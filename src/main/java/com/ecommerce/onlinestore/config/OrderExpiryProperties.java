@@ -0,0 +1,33 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.order-expiry")
+public class OrderExpiryProperties {
+
+    private boolean enabled = true;
+
+    // Заказ в статусе PENDING дольше этого срока отменяется, товар возвращается на склад
+    private Duration pendingTimeout = Duration.ofMinutes(30);
+
+    // Точность отмены для заказов из колеса таймеров
+    private Duration tick = Duration.ofSeconds(1);
+
+    private int wheelSize = 1024;
+
+    // Заказы с более дальним сроком колесо не отслеживает, их находит сканирование
+    private Duration wheelHorizon = Duration.ofHours(1);
+
+    private int maxTracked = 100_000;
+
+    // Сканирование по индексу (status, created_at) подбирает все, что колесо пропустило или потеряло при рестарте
+    private Duration scanInterval = Duration.ofMinutes(5);
+
+    private int chunkSize = 500;
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.order-pipeline")
+public class OrderPipelineProperties {
+
+    private boolean enabled = true;
+
+    // Сколько заказов максимум фиксируется одной транзакцией
+    private int batchSize = 100;
+
+    // Сколько первый заказ пачки ждет попутчиков
+    private Duration maxBatchDelay = Duration.ofMillis(5);
+
+    private int queueCapacity = 10_000;
+
+    // Сколько хранится результат по номеру отслеживания
+    private Duration resultTtl = Duration.ofMinutes(10);
+
+    // Сколько результатов держим в памяти, при всплеске заказов старые вытесняются раньше resultTtl
+    private long resultMaximumSize = 100_000;
+
+    private Duration streamTimeout = Duration.ofSeconds(30);
+
+    // Потоки, которые отправляют готовые результаты подписчикам стрима
+    private int resultThreads = 4;
+}
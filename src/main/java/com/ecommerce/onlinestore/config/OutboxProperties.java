@@ -0,0 +1,28 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    // Диспетчер достаточно запускать на одном экземпляре
+    private boolean enabled = true;
+
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private int batchSize = 100;
+
+    // Сколько пачек за один запуск, остальное ждет следующего
+    private int maxBatchesPerRun = 20;
+
+    // Повторы после ошибки слушателя: задержка удваивается до max-backoff
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
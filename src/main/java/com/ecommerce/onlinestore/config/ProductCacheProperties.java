@@ -0,0 +1,18 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.product-cache")
+public class ProductCacheProperties {
+
+    private long maximumSize = 10_000;
+
+    // Upper bound on how stale a cached product (including its stock) can get
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.reporting")
+public class ReportingProperties {
+
+    // Пустые таблицы сводок при старте заполняются из истории заказов
+    private boolean backfillOnStartup = true;
+}
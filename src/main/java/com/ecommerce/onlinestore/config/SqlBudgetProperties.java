@@ -0,0 +1,16 @@
+package com.ecommerce.onlinestore.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    // Один и тот же запрос чаще этого за один HTTP-запрос - скорее всего N+1, пишем предупреждение
+    private int repeatedStatementThreshold = 5;
+}
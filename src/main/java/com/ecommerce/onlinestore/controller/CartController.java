@@ -2,6 +2,7 @@ package com.ecommerce.onlinestore.controller;
 
 import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
 import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.CartItemOperationsRequest;
 import com.ecommerce.onlinestore.model.dto.UpdateCartItemRequest;
 import com.ecommerce.onlinestore.service.CartService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -74,6 +75,17 @@ public class CartController {
         return ResponseEntity.ok(cart);
     }
 
+    @PatchMapping("/{cartId}/items")
+    @Operation(summary = "Apply item operations",
+            description = "Apply an ordered list of add/update/remove operations to the cart atomically")
+    public ResponseEntity<CartDTO> applyItemOperations(
+            @PathVariable Long cartId,
+            @Valid @RequestBody CartItemOperationsRequest request) {
+
+        CartDTO cart = cartService.applyItemOperations(cartId, request.getOperations());
+        return ResponseEntity.ok(cart);
+    }
+
     @DeleteMapping("/{cartId}/clear")
     @Operation(summary = "Clear cart", description = "Remove all items from cart")
     public ResponseEntity<Void> clearCart(@PathVariable Long cartId) {
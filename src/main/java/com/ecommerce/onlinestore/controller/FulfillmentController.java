@@ -0,0 +1,55 @@
+package com.ecommerce.onlinestore.controller;
+
+import com.ecommerce.onlinestore.model.dto.FulfillmentClaimDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.service.FulfillmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/fulfillment/claims")
+@RequiredArgsConstructor
+@Tag(name = "Fulfillment", description = "Work queue of orders waiting for fulfillment")
+public class FulfillmentController {
+
+    private final FulfillmentService fulfillmentService;
+
+    @PostMapping
+    @Operation(summary = "Claim orders", description = "Claim up to max waiting orders under a lease")
+    public ResponseEntity<FulfillmentClaimDTO> claimOrders(
+            @RequestParam String workerId,
+            @RequestParam(defaultValue = "10") int max) {
+
+        FulfillmentClaimDTO claim = fulfillmentService.claimOrders(workerId, max);
+        return ResponseEntity.ok(claim);
+    }
+
+    @PutMapping("/{claimToken}/lease")
+    @Operation(summary = "Renew lease", description = "Extend the lease of the orders still held by a claim")
+    public ResponseEntity<FulfillmentClaimDTO> renewLease(@PathVariable String claimToken) {
+        FulfillmentClaimDTO claim = fulfillmentService.renewLease(claimToken);
+        return ResponseEntity.ok(claim);
+    }
+
+    @PostMapping("/{claimToken}/orders/{orderId}/complete")
+    @Operation(summary = "Complete claimed order", description = "Move a claimed order to the given status")
+    public ResponseEntity<OrderDTO> completeOrder(
+            @PathVariable String claimToken,
+            @PathVariable Long orderId,
+            @RequestParam OrderStatus status) {
+
+        OrderDTO order = fulfillmentService.completeOrder(claimToken, orderId, status);
+        return ResponseEntity.ok(order);
+    }
+
+    @DeleteMapping("/{claimToken}/orders/{orderId}")
+    @Operation(summary = "Release claimed order", description = "Return a claimed order to the queue")
+    public ResponseEntity<Void> releaseOrder(@PathVariable String claimToken, @PathVariable Long orderId) {
+        fulfillmentService.releaseOrder(claimToken, orderId);
+        return ResponseEntity.ok().build();
+    }
+}
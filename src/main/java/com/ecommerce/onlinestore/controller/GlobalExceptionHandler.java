@@ -2,9 +2,14 @@ package com.ecommerce.onlinestore.controller;
 
 import com.ecommerce.onlinestore.model.exception.BusinessException;
 import com.ecommerce.onlinestore.model.exception.CartNotFoundException;
+import com.ecommerce.onlinestore.model.exception.ClaimNotHeldException;
+import com.ecommerce.onlinestore.model.exception.IdempotencyKeyConflictException;
 import com.ecommerce.onlinestore.model.exception.OrderNotFoundException;
+import com.ecommerce.onlinestore.model.exception.PlacementNotFoundException;
+import com.ecommerce.onlinestore.model.exception.PlacementQueueFullException;
 import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -20,7 +25,8 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler({CartNotFoundException.class, OrderNotFoundException.class, ProductNotFoundException.class})
+    @ExceptionHandler({CartNotFoundException.class, OrderNotFoundException.class, ProductNotFoundException.class,
+            PlacementNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleNotFoundException(BusinessException ex) {
         log.warn("Not found exception: {}", ex.getMessage());
 
@@ -34,6 +40,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        log.warn("Idempotency key conflict: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(ex.getMessage())
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ClaimNotHeldException.class)
+    public ResponseEntity<ErrorResponse> handleClaimNotHeld(ClaimNotHeldException ex) {
+        log.warn("Fulfillment claim lost: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(ex.getMessage())
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PlacementQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handlePlacementQueueFull(PlacementQueueFullException ex) {
+        log.warn("Order placement rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
         log.warn("Business exception: {}", ex.getMessage());
@@ -1,9 +1,20 @@
 package com.ecommerce.onlinestore.controller;
 
+import com.ecommerce.onlinestore.config.OrderPipelineProperties;
+import com.ecommerce.onlinestore.idempotency.IdempotencyStore;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionDTO;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionRequest;
 import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.CursorPageDTO;
 import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderPlacementDTO;
+import com.ecommerce.onlinestore.model.enums.ExportFormat;
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.placement.OrderPlacementPipeline;
+import com.ecommerce.onlinestore.service.ExportService;
 import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -11,8 +22,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -20,13 +41,80 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Order Management", description = "APIs for managing orders")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderPlacementPipeline placementPipeline;
+    private final OrderPipelineProperties pipelineProperties;
+    private final ExportService exportService;
 
     @PostMapping
-    @Operation(summary = "Create order", description = "Create a new order from cart")
-    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        OrderDTO order = orderService.createOrder(request);
-        return ResponseEntity.ok(order);
+    @Operation(summary = "Create order",
+            description = "Create a new order from cart. Retries with the same Idempotency-Key return the original order")
+    public ResponseEntity<OrderDTO> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            OrderDTO order = orderService.createOrder(request);
+            return ResponseEntity.ok(order);
+        }
+
+        IdempotencyStore.Result result = idempotencyStore.execute(idempotencyKey, request,
+                () -> orderService.createOrder(request));
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.order());
+    }
+
+    @PostMapping("/async")
+    @Operation(summary = "Place order asynchronously",
+            description = "Queue an order for batched placement and return a tracking number to poll or stream the result")
+    public ResponseEntity<OrderPlacementDTO> placeOrderAsync(@Valid @RequestBody CreateOrderRequest request) {
+        OrderPlacementDTO placement = placementPipeline.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/placements/" + placement.getTrackingNumber()))
+                .body(placement);
+    }
+
+    @GetMapping("/placements/{trackingNumber}")
+    @Operation(summary = "Get order placement", description = "Retrieve the status of an asynchronous order placement")
+    public ResponseEntity<OrderPlacementDTO> getPlacement(@PathVariable String trackingNumber) {
+        OrderPlacementDTO placement = placementPipeline.getPlacement(trackingNumber);
+        return ResponseEntity.ok(placement);
+    }
+
+    @GetMapping(value = "/placements/{trackingNumber}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order placement",
+            description = "Server-sent event with the result of an asynchronous order placement once it is known")
+    public SseEmitter streamPlacement(@PathVariable String trackingNumber) {
+        CompletableFuture<OrderPlacementDTO> result = placementPipeline.awaitPlacement(trackingNumber);
+
+        SseEmitter emitter = new SseEmitter(pipelineProperties.getStreamTimeout().toMillis());
+        // Sending can block on a slow client, so it must not run on the pipeline worker that completes the result
+        CompletableFuture<OrderPlacementDTO> delivery = result.whenCompleteAsync((placement, error) -> {
+            try {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                    return;
+                }
+                emitter.send(SseEmitter.event().name("placement").data(placement));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                // The stream timed out or the client disconnected in the meantime
+            }
+        }, placementPipeline.resultExecutor());
+        // Once the stream is over nothing waits for the result anymore, the placement itself goes on
+        emitter.onCompletion(() -> delivery.cancel(false));
+        emitter.onTimeout(() -> {
+            delivery.cancel(false);
+            emitter.complete();
+        });
+        return emitter;
     }
 
     @GetMapping
@@ -40,6 +128,40 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll orders",
+            description = "Retrieve orders, newest first, using a continuation cursor instead of page numbers")
+    public ResponseEntity<CursorPageDTO<OrderDTO>> scrollOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        int pageSize = Math.max(1, Math.min(size, Constants.MAX_PAGE_SIZE));
+        CursorPageDTO<OrderDTO> orders = orderService.getOrdersAfter(cursor, pageSize);
+        return ResponseEntity.ok(orders);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export orders",
+            description = "Stream orders as NDJSON or CSV, optionally filtered by status and creation days")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeItems) {
+
+        // Checked before streaming starts, afterwards the status code is already sent
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("Export start date must not be after its end date");
+        }
+        StreamingResponseBody body = out -> exportService.exportOrders(format, status, from, to, includeItems, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order by ID", description = "Retrieve order by ID")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long orderId) {
@@ -88,6 +210,16 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping("/status-transitions")
+    @Operation(summary = "Bulk update order status",
+            description = "Move a list of orders, or all orders in a status, to a target status and report the outcome per order")
+    public ResponseEntity<BulkStatusTransitionDTO> transitionOrders(
+            @Valid @RequestBody BulkStatusTransitionRequest request) {
+
+        BulkStatusTransitionDTO result = orderService.transitionOrders(request);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{orderId}/cancel")
     @Operation(summary = "Cancel order", description = "Cancel order")
     public ResponseEntity<OrderDTO> cancelOrder(@PathVariable Long orderId) {
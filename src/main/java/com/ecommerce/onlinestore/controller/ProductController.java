@@ -1,7 +1,12 @@
 package com.ecommerce.onlinestore.controller;
 
+import com.ecommerce.onlinestore.model.dto.CursorPageDTO;
 import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.enums.ExportFormat;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.service.ExportService;
 import com.ecommerce.onlinestore.service.ProductService;
+import com.ecommerce.onlinestore.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +14,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/products")
@@ -21,6 +31,7 @@ import java.math.BigDecimal;
 public class ProductController {
 
     private final ProductService productService;
+    private final ExportService exportService;
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Retrieve a paginated list of all products")
@@ -39,6 +50,38 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll products",
+            description = "Retrieve products ordered by name using a continuation cursor instead of page numbers")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        int pageSize = Math.max(1, Math.min(size, Constants.MAX_PAGE_SIZE));
+        CursorPageDTO<ProductDTO> products = productService.getProductsAfter(cursor, pageSize);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export products",
+            description = "Stream products as NDJSON or CSV, optionally filtered by category and creation days")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("Export start date must not be after its end date");
+        }
+        StreamingResponseBody body = out -> exportService.exportProducts(format, category, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Retrieve a product by its ID")
     public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
@@ -127,4 +170,22 @@ public class ProductController {
         Page<ProductDTO> products = productService.getAvailableProducts(pageable);
         return ResponseEntity.ok(products);
     }
+
+    @PutMapping("/{id}/stock-shards")
+    @Operation(summary = "Shard product stock",
+            description = "Split the stock of a hot product across counter rows so concurrent checkouts do not contend on one row")
+    public ResponseEntity<ProductDTO> enableStockSharding(
+            @PathVariable Long id,
+            @RequestParam int count) {
+
+        ProductDTO product = productService.enableStockSharding(id, count);
+        return ResponseEntity.ok(product);
+    }
+
+    @DeleteMapping("/{id}/stock-shards")
+    @Operation(summary = "Merge product stock shards", description = "Move sharded stock back into the product row")
+    public ResponseEntity<ProductDTO> disableStockSharding(@PathVariable Long id) {
+        ProductDTO product = productService.disableStockSharding(id);
+        return ResponseEntity.ok(product);
+    }
 }
@@ -0,0 +1,56 @@
+package com.ecommerce.onlinestore.controller;
+
+import com.ecommerce.onlinestore.model.dto.OrderReportDTO;
+import com.ecommerce.onlinestore.model.dto.ProductSalesDTO;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.service.ReportService;
+import com.ecommerce.onlinestore.util.Constants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Order and sales figures from pre-aggregated rollups")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/orders")
+    @Operation(summary = "Order report",
+            description = "Number and revenue of the orders in a status, optionally only those created between two dates")
+    public ResponseEntity<OrderReportDTO> getOrderReport(
+            @RequestParam(defaultValue = "DELIVERED") OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        OrderReportDTO report = from == null && to == null
+                ? reportService.getOrderReport(status)
+                : reportService.getOrderReport(status,
+                from != null ? from : LocalDate.of(1970, 1, 1),
+                to != null ? to : LocalDate.now());
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/top-products")
+    @Operation(summary = "Top selling products", description = "Products by units sold in orders that were not cancelled")
+    public ResponseEntity<List<ProductSalesDTO>> getTopSellingProducts(@RequestParam(defaultValue = "10") int limit) {
+        int size = Math.max(1, Math.min(limit, Constants.MAX_TOP_SELLING_PRODUCTS));
+        List<ProductSalesDTO> products = reportService.getTopSellingProducts(size);
+        return ResponseEntity.ok(products);
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Rebuild rollups", description = "Recompute all report rollups from the order history")
+    public ResponseEntity<Void> rebuildRollups() {
+        reportService.rebuildRollups();
+        return ResponseEntity.ok().build();
+    }
+}
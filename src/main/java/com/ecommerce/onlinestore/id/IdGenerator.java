@@ -0,0 +1,9 @@
+package com.ecommerce.onlinestore.id;
+
+/**
+ * Source of unique, monotonically increasing 64-bit identifiers.
+ */
+public interface IdGenerator {
+
+    long nextId();
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.onlinestore.id;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide access to the active {@link IdGenerator} for code that is not managed by Spring,
+ * such as entity callbacks and Hibernate identifier generators.
+ * Snowflake generators are shared per node id so that several application contexts in one JVM
+ * (e.g. in tests) never hand out the same id twice.
+ */
+public final class IdGenerators {
+
+    private static final Map<Integer, SnowflakeIdGenerator> SNOWFLAKES = new ConcurrentHashMap<>();
+
+    private static volatile IdGenerator current = snowflake(0);
+
+    private IdGenerators() {
+    }
+
+    public static IdGenerator current() {
+        return current;
+    }
+
+    public static void install(IdGenerator generator) {
+        current = generator;
+    }
+
+    public static SnowflakeIdGenerator snowflake(int nodeId) {
+        return SNOWFLAKES.computeIfAbsent(nodeId, SnowflakeIdGenerator::new);
+    }
+}
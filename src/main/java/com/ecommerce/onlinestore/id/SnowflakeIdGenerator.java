@@ -0,0 +1,69 @@
+package com.ecommerce.onlinestore.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, time-ordered id generator.
+ * An id is {@code 41 bits of milliseconds since EPOCH | 10 bits node id | 12 bits sequence},
+ * so ids sort by creation time and never collide across nodes with distinct node ids.
+ * <p>
+ * The last issued id is the only state and is advanced with CAS. When the clock moves backwards
+ * or the sequence of the current millisecond is exhausted, the generator keeps counting from
+ * the last issued id (borrowing the next millisecond), so ids stay strictly increasing.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong lastId = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long candidate = ((clock.getAsLong() - EPOCH) << TIMESTAMP_SHIFT) | nodeBits;
+        while (true) {
+            long last = lastId.get();
+            long next;
+            if (candidate > last) {
+                next = candidate;
+            } else if ((last & SEQUENCE_MASK) != SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (((last >>> TIMESTAMP_SHIFT) + 1) << TIMESTAMP_SHIFT) | nodeBits;
+            }
+            if (lastId.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + EPOCH);
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.onlinestore.idempotency;
+
+import com.ecommerce.onlinestore.config.IdempotencyProperties;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.entity.IdempotencyRecord;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.model.exception.IdempotencyKeyConflictException;
+import com.ecommerce.onlinestore.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the order created for an {@code Idempotency-Key} so client retries get the same response.
+ * Completed keys are kept in a bounded in-memory cache and in the idempotency_keys table, written in the same
+ * transaction as the order. Duplicates arriving while the first request is still running wait for its result.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    private final Cache<String, Completed> completed;
+    private final Map<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            IdempotencyProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.executed = meterRegistry.counter("idempotency.requests", "outcome", "executed");
+        this.replayed = meterRegistry.counter("idempotency.requests", "outcome", "replayed");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency.keys");
+    }
+
+    /**
+     * Runs {@code createOrder} once per key. A repeated key with the same request body returns the stored order,
+     * with a different body it is rejected.
+     */
+    public Result execute(String key, Object request, Supplier<OrderDTO> createOrder) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        Completed done = completed.getIfPresent(key);
+        if (done != null) {
+            return replay(key, requestHash, done);
+        }
+
+        CompletableFuture<Completed> own = new CompletableFuture<>();
+        CompletableFuture<Completed> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return replay(key, requestHash, await(running));
+        }
+
+        try {
+            // Another request may have completed it just before we registered, or another instance / a restart
+            done = completed.getIfPresent(key);
+            if (done == null) {
+                done = load(key);
+            }
+            if (done != null) {
+                own.complete(done);
+                return replay(key, requestHash, done);
+            }
+
+            Completed created = create(key, requestHash, createOrder);
+            own.complete(created);
+            executed.increment();
+            return new Result(created.order(), false);
+        } catch (DataIntegrityViolationException e) {
+            // The same key was committed concurrently on another instance, our order was rolled back with it
+            Completed other = load(key);
+            if (other == null) {
+                own.completeExceptionally(e);
+                throw e;
+            }
+            own.complete(other);
+            return replay(key, requestHash, other);
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.idempotency.cleanup-interval:PT1H}",
+            fixedDelayString = "${app.idempotency.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getTtl())));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Completed create(String key, String requestHash, Supplier<OrderDTO> createOrder) {
+        return transactionTemplate.execute(status -> {
+            OrderDTO order = createOrder.get();
+            recordRepository.insert(key, requestHash, order.getId(), toJson(order), LocalDateTime.now());
+
+            Completed result = new Completed(requestHash, order);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                completed.put(key, result);
+                return result;
+            }
+            // Cached only once committed, so a rolled back order is never replayed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    completed.put(key, result);
+                }
+            });
+            return result;
+        });
+    }
+
+    private Completed load(String key) {
+        return recordRepository.findById(key)
+                .map(record -> new Completed(record.getRequestHash(), fromJson(record.getResponse())))
+                .orElse(null);
+    }
+
+    private Result replay(String key, String requestHash, Completed done) {
+        if (!done.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(
+                    "Idempotency-Key " + key + " was already used with a different request");
+        }
+        replayed.increment();
+        log.debug("Replaying order {} for idempotency key {}", done.order().getId(), key);
+        return new Result(done.order(), true);
+    }
+
+    private Completed await(CompletableFuture<Completed> running) {
+        try {
+            return running.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash request", e);
+        }
+    }
+
+    private String toJson(OrderDTO order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order " + order.getId(), e);
+        }
+    }
+
+    private OrderDTO fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, OrderDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    public record Result(OrderDTO order, boolean replayed) {
+    }
+
+    private record Completed(String requestHash, OrderDTO order) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.ecommerce.onlinestore.inventory;
+
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.config.InventoryProperties;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stock holds per (cart, product).
+ * Each product has its own held-units counter updated with CAS, so holds on different products never
+ * contend and holds on the same product only race on one counter. A hold is granted only while
+ * the units held by all carts stay within the product's stock; it expires after {@code app.inventory.hold-ttl}
+ * without changes and is released when the cart is checked out.
+ * <p>
+ * Changes made inside a transaction are undone if it rolls back. Holds are local to this instance,
+ * the conditional stock decrement at checkout remains the final guard against overselling.
+ */
+@Slf4j
+@Component
+public class InventoryReservations {
+
+    private final ProductCache productCache;
+    private final long holdTtlNanos;
+    private final TimingWheel expiryWheel;
+    private final long tickMillis;
+    private final Map<Long, AtomicInteger> heldByProduct = new ConcurrentHashMap<>();
+    private final Map<HoldKey, Hold> holds = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Counter rejectedHolds;
+    private final Counter expiredHolds;
+
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public InventoryReservations(ProductCache productCache, InventoryProperties properties, MeterRegistry meterRegistry) {
+        this(productCache, properties, meterRegistry, new TimingWheel(properties.getExpiryTick().toMillis(),
+                TimeUnit.MILLISECONDS, properties.getWheelSize(), System::nanoTime));
+    }
+
+    InventoryReservations(ProductCache productCache, InventoryProperties properties, MeterRegistry meterRegistry,
+                          TimingWheel expiryWheel) {
+        this.productCache = productCache;
+        this.holdTtlNanos = properties.getHoldTtl().toNanos();
+        this.tickMillis = properties.getExpiryTick().toMillis();
+        this.expiryWheel = expiryWheel;
+        this.rejectedHolds = meterRegistry.counter("inventory.holds.rejected");
+        this.expiredHolds = meterRegistry.counter("inventory.holds.expired");
+        meterRegistry.gaugeMapSize("inventory.holds.active", Tags.empty(), holds);
+    }
+
+    @PostConstruct
+    void startExpiry() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDueHolds, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopExpiry() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Sets the cart's hold on a product to {@code quantity} units and restarts its TTL.
+     *
+     * @throws InsufficientStockException if the stock not held by other carts is smaller than {@code quantity}
+     */
+    public void hold(Long cartId, Long productId, String productName, int quantity, int stockQuantity) {
+        HoldKey key = new HoldKey(cartId, productId);
+        AtomicInteger held = heldByProduct.computeIfAbsent(productId, id -> new AtomicInteger());
+        Hold[] previous = new Hold[1];
+        Hold updated = holds.compute(key, (k, current) -> {
+            previous[0] = current;
+            int delta = quantity - (current == null ? 0 : current.quantity());
+            if (!tryAdjust(held, delta, stockQuantity)) {
+                rejectedHolds.increment();
+                int availableForCart = stockQuantity - held.get() + (current == null ? 0 : current.quantity());
+                throw new InsufficientStockException(productName, quantity, Math.max(availableForCart, 0));
+            }
+            return newHold(quantity);
+        });
+        scheduleExpiry(key, updated);
+        recordForRollback(key, previous[0]);
+    }
+
+    /**
+     * Makes sure the cart holds at least {@code quantity} units, taking the stock from the product cache
+     * only when the existing hold is not enough (e.g. it expired).
+     */
+    public void ensureHeld(Long cartId, Long productId, int quantity) {
+        if (heldBy(cartId, productId) >= quantity) {
+            return;
+        }
+        ProductDTO product = productCache.getById(productId);
+        hold(cartId, productId, product.getName(), quantity, product.getStockQuantity());
+    }
+
+    /**
+     * {@link #ensureHeld(Long, Long, int)} for all lines of a cart, all or nothing: when one product cannot be
+     * held, the holds already taken by this call are put back as they were before throwing.
+     */
+    public void ensureHeld(Long cartId, Map<Long, Integer> quantities) {
+        Map<HoldKey, Hold> changed = new LinkedHashMap<>();
+        try {
+            quantities.forEach((productId, quantity) -> {
+                HoldKey key = new HoldKey(cartId, productId);
+                Hold before = holds.get(key);
+                if (before == null || before.quantity() < quantity) {
+                    ensureHeld(cartId, productId, quantity);
+                    changed.put(key, before);
+                }
+            });
+        } catch (InsufficientStockException e) {
+            changed.forEach(this::restore);
+            throw e;
+        }
+    }
+
+    public void release(Long cartId, Long productId) {
+        HoldKey key = new HoldKey(cartId, productId);
+        Hold previous = releaseHold(key);
+        if (previous != null) {
+            recordForRollback(key, previous);
+        }
+    }
+
+    public void releaseAll(Long cartId, Collection<Long> productIds) {
+        productIds.forEach(productId -> release(cartId, productId));
+    }
+
+    /**
+     * Converts the cart's holds into the stock decrement of a placed order: they are dropped once
+     * the current transaction commits, or right away without one.
+     */
+    public void commit(Long cartId, Collection<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseAll(cartId, productIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productIds.forEach(productId -> releaseHold(new HoldKey(cartId, productId)));
+            }
+        });
+    }
+
+    public int heldBy(Long cartId, Long productId) {
+        Hold hold = holds.get(new HoldKey(cartId, productId));
+        return hold == null ? 0 : hold.quantity();
+    }
+
+    public int heldQuantity(Long productId) {
+        AtomicInteger held = heldByProduct.get(productId);
+        return held == null ? 0 : held.get();
+    }
+
+    void expireDueHolds() {
+        try {
+            expiryWheel.advance();
+        } catch (RuntimeException e) {
+            log.error("Failed to expire inventory holds", e);
+        }
+    }
+
+    private Hold releaseHold(HoldKey key) {
+        Hold[] released = new Hold[1];
+        holds.computeIfPresent(key, (k, current) -> {
+            released[0] = current;
+            heldByProduct.get(key.productId()).addAndGet(-current.quantity());
+            return null;
+        });
+        return released[0];
+    }
+
+    private static boolean tryAdjust(AtomicInteger held, int delta, int stockQuantity) {
+        while (true) {
+            int current = held.get();
+            int next = current + delta;
+            if (delta > 0 && next > stockQuantity) {
+                return false;
+            }
+            if (held.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private Hold newHold(int quantity) {
+        return new Hold(quantity, versions.incrementAndGet());
+    }
+
+    private void scheduleExpiry(HoldKey key, Hold hold) {
+        expiryWheel.schedule(holdTtlNanos, TimeUnit.NANOSECONDS, () -> expire(key, hold.version()));
+    }
+
+    private void expire(HoldKey key, long version) {
+        // Срабатывает только для той версии резерва, для которой был запланирован таймаут
+        holds.computeIfPresent(key, (k, current) -> {
+            if (current.version() != version) {
+                return current;
+            }
+            heldByProduct.get(key.productId()).addAndGet(-current.quantity());
+            expiredHolds.increment();
+            return null;
+        });
+    }
+
+    // Откат транзакции возвращает резервы к состоянию до первого изменения в ней
+    private void restore(HoldKey key, Hold original) {
+        AtomicInteger held = heldByProduct.computeIfAbsent(key.productId(), id -> new AtomicInteger());
+        Hold restored = holds.compute(key, (k, current) -> {
+            int delta = (original == null ? 0 : original.quantity()) - (current == null ? 0 : current.quantity());
+            held.addAndGet(delta);
+            return original == null ? null : newHold(original.quantity());
+        });
+        if (restored != null) {
+            scheduleExpiry(key, restored);
+        }
+    }
+
+    private void recordForRollback(HoldKey key, Hold previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<HoldKey, Hold> originals = (Map<HoldKey, Hold>) TransactionSynchronizationManager.getResource(this);
+        if (originals == null) {
+            Map<HoldKey, Hold> recorded = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, recorded);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InventoryReservations.this);
+                    if (status != STATUS_COMMITTED) {
+                        recorded.forEach(InventoryReservations.this::restore);
+                    }
+                }
+            });
+            originals = recorded;
+        }
+        if (!originals.containsKey(key)) {
+            originals.put(key, previous);
+        }
+    }
+
+    private record HoldKey(Long cartId, Long productId) {
+    }
+
+    private record Hold(int quantity, long version) {
+    }
+}
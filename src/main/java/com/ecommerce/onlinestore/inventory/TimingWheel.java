@@ -0,0 +1,88 @@
+package com.ecommerce.onlinestore.inventory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel for large numbers of coarse-grained timeouts.
+ * Scheduling is a lock-free enqueue; buckets are only touched by the thread calling {@link #advance()},
+ * which expires every task due up to now, one tick of {@code tickNanos} at a time.
+ */
+public class TimingWheel {
+
+    private final long tickNanos;
+    private final Queue<Timeout>[] buckets;
+    private final int mask;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tick, TimeUnit unit, int wheelSize, LongSupplier nanoClock) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 1) * 2 - 1);
+        this.tickNanos = unit.toNanos(tick);
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    public void schedule(long delay, TimeUnit unit, Runnable task) {
+        long deadline = nanoClock.getAsLong() - startNanos + unit.toNanos(delay);
+        // Округляем вверх: задача не срабатывает раньше срока
+        pending.add(new Timeout((deadline + tickNanos - 1) / tickNanos, task));
+    }
+
+    /**
+     * Runs the tasks of every tick that has fully elapsed. Must not be called concurrently.
+     */
+    public void advance() {
+        long targetTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        while (currentTick <= targetTick) {
+            transferPending();
+            expire(buckets[(int) (currentTick & mask)]);
+            currentTick++;
+        }
+    }
+
+    private void transferPending() {
+        for (Timeout timeout = pending.poll(); timeout != null; timeout = pending.poll()) {
+            long deadlineTick = Math.max(timeout.deadlineTick, currentTick);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout timeout = it.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            it.remove();
+            timeout.task.run();
+        }
+    }
+
+    private static final class Timeout {
+
+        private final long deadlineTick;
+        private final Runnable task;
+        private long remainingRounds;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.onlinestore.job;
+
+import com.ecommerce.onlinestore.config.CartProperties;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes carts not updated for {@code app.cart.session-timeout-hours}.
+ * Expired carts are removed in id-range chunks, each in its own short transaction.
+ * The chunk size adapts to the observed chunk latency and the reaper pauses between chunks
+ * in proportion to the time the last chunk took, so it yields to regular traffic.
+ */
+@Slf4j
+@Component
+public class AbandonedCartReaper {
+
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CartProperties properties;
+
+    private final Counter purgedCarts;
+    private final Counter purgedItems;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicInteger chunkSize;
+
+    public AbandonedCartReaper(CartRepository cartRepository,
+                               TransactionTemplate transactionTemplate,
+                               CartProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.chunkSize = new AtomicInteger(properties.getReaper().getInitialChunkSize());
+
+        this.purgedCarts = Counter.builder("cart.reaper.purged")
+                .tag("table", "carts")
+                .register(meterRegistry);
+        this.purgedItems = Counter.builder("cart.reaper.purged")
+                .tag("table", "cart_items")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("cart.reaper.chunk")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("cart.reaper.backlog", backlog);
+        meterRegistry.gauge("cart.reaper.chunk.size", chunkSize);
+    }
+
+    @Scheduled(initialDelayString = "${app.cart.reaper.interval:PT5M}", fixedDelayString = "${app.cart.reaper.interval:PT5M}")
+    public void scheduledRun() {
+        if (properties.getReaper().isEnabled()) {
+            purgeExpiredCarts();
+        }
+    }
+
+    /**
+     * Runs one reaping pass and returns the number of carts deleted.
+     */
+    public long purgeExpiredCarts() {
+        CartProperties.Reaper config = properties.getReaper();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(properties.getSessionTimeoutHours());
+        long deadline = System.nanoTime() + config.getMaxRunTime().toNanos();
+
+        long deleted = 0;
+        long afterId = 0L;
+        while (System.nanoTime() < deadline) {
+            int limit = chunkSize.get();
+            List<Long> ids = cartRepository.findExpiredCartIds(cutoff, afterId, Limit.of(limit));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Long fromId = ids.get(0);
+            Long toId = ids.get(ids.size() - 1);
+
+            long start = System.nanoTime();
+            int[] counts = transactionTemplate.execute(status -> new int[]{
+                    cartRepository.deleteExpiredCartItemsInRange(fromId, toId, cutoff),
+                    cartRepository.deleteExpiredCartsInRange(fromId, toId, cutoff)
+            });
+            long elapsed = System.nanoTime() - start;
+
+            chunkTimer.record(Duration.ofNanos(elapsed));
+            purgedItems.increment(counts[0]);
+            purgedCarts.increment(counts[1]);
+            deleted += counts[1];
+            afterId = toId;
+
+            adjustChunkSize(elapsed, config);
+            if (ids.size() < limit || !pause(elapsed, config)) {
+                break;
+            }
+        }
+
+        backlog.set(cartRepository.countByUpdatedAtBefore(cutoff));
+        if (deleted > 0) {
+            log.info("Purged {} abandoned carts, {} still expired", deleted, backlog.get());
+        }
+        return deleted;
+    }
+
+    // Размер чанка: уменьшаем вдвое при превышении целевой задержки, плавно растим при запасе
+    private void adjustChunkSize(long elapsedNanos, CartProperties.Reaper config) {
+        long target = config.getTargetChunkLatency().toNanos();
+        int current = chunkSize.get();
+        int next = current;
+        if (elapsedNanos > target) {
+            next = Math.max(config.getMinChunkSize(), current / 2);
+        } else if (elapsedNanos < target / 2) {
+            next = Math.min(config.getMaxChunkSize(), current + current / 4 + 1);
+        }
+        if (next != current) {
+            log.debug("Cart reaper chunk size {} -> {}", current, next);
+            chunkSize.set(next);
+        }
+    }
+
+    private boolean pause(long elapsedNanos, CartProperties.Reaper config) {
+        long pauseNanos = Math.min((long) (elapsedNanos * config.getPauseRatio()), config.getMaxPause().toNanos());
+        if (pauseNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
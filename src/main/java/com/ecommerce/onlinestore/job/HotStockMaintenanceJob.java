@@ -0,0 +1,69 @@
+package com.ecommerce.onlinestore.job;
+
+import com.ecommerce.onlinestore.config.InventoryProperties;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps products with sharded stock consistent: writes the shard sums into products.stock_quantity
+ * and spreads the stock again once a shard runs dry, so random shard picks keep finding stock.
+ */
+@Slf4j
+@Component
+public class HotStockMaintenanceJob {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties properties;
+    private final Counter rebalances;
+
+    public HotStockMaintenanceJob(ProductRepository productRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  InventoryProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.rebalances = meterRegistry.counter("inventory.shards.rebalanced");
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.shard-maintenance.interval:PT1S}")
+    public void scheduledRun() {
+        if (!properties.getShardMaintenance().isEnabled()) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.error("Stock shard maintenance failed", e);
+        }
+    }
+
+    public void run() {
+        // Usually no product is sharded, then one EXISTS query replaces the scans below
+        if (!productRepository.existsByStockShardsGreaterThan(0)) {
+            return;
+        }
+
+        List<Long> drained = productRepository.findProductsWithDrainedShards();
+        for (Long productId : drained) {
+            // Each product in its own transaction, the shard rows stay locked only briefly
+            Boolean rebalanced = transactionTemplate.execute(status -> productRepository.rebalanceStockShards(productId));
+            if (Boolean.TRUE.equals(rebalanced)) {
+                rebalances.increment();
+            }
+        }
+
+        Integer refreshed = transactionTemplate.execute(status -> productRepository.refreshShardedStockTotals());
+        if (refreshed != null && refreshed > 0) {
+            log.debug("Refreshed stock totals of {} sharded products", refreshed);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.onlinestore.job;
+
+import com.ecommerce.onlinestore.config.ReportingProperties;
+import com.ecommerce.onlinestore.repository.OrderRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Rebuilds the reporting rollups from the order history: once at startup when they are empty,
+ * and on demand after the rollup definition changed or drifted.
+ * <p>
+ * The rebuild is one transaction aggregating all orders; order changes committed while it runs
+ * may be missed, so on-demand rebuilds belong in a quiet period.
+ */
+@Slf4j
+@Component
+public class OrderRollupBackfill {
+
+    private final OrderRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportingProperties properties;
+    private final Timer rebuildTimer;
+
+    public OrderRollupBackfill(OrderRollupRepository rollupRepository,
+                               TransactionTemplate transactionTemplate,
+                               ReportingProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.rebuildTimer = meterRegistry.timer("reporting.rollups.rebuild");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (properties.isBackfillOnStartup() && rollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.rebuildRollups());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        rebuildTimer.record(elapsed);
+        log.info("Rebuilt order rollups in {} ms", elapsed.toMillis());
+    }
+}
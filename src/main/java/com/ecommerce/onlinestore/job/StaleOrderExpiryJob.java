@@ -0,0 +1,174 @@
+package com.ecommerce.onlinestore.job;
+
+import com.ecommerce.onlinestore.config.OrderExpiryProperties;
+import com.ecommerce.onlinestore.inventory.TimingWheel;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.outbox.OrderEvent;
+import com.ecommerce.onlinestore.outbox.OrderEventListener;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.service.ExpiredOrders;
+import com.ecommerce.onlinestore.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cancels orders left PENDING for longer than {@code app.order-expiry.pending-timeout} and returns their stock.
+ * <p>
+ * New orders reach the job through their ORDER_CREATED event and wait in a timing wheel when their deadline
+ * is within {@code wheel-horizon}, so they are cancelled about one tick after it. Everything else - longer
+ * deadlines, a full wheel, orders created before a restart - is found by a periodic scan over the
+ * (status, created_at) index. Both paths cancel in chunks, one transaction each.
+ */
+@Slf4j
+@Component
+public class StaleOrderExpiryJob implements OrderEventListener {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderExpiryProperties properties;
+    private final TimingWheel wheel;
+
+    // Only touched by the thread advancing the wheel
+    private final List<Long> due = new ArrayList<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+
+    private final Counter expiredByWheel;
+    private final Counter expiredByScan;
+    private final Counter unitsReleased;
+
+    @Autowired
+    public StaleOrderExpiryJob(OrderService orderService,
+                               OrderRepository orderRepository,
+                               OrderExpiryProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(orderService, orderRepository, properties, meterRegistry, new TimingWheel(properties.getTick().toMillis(),
+                TimeUnit.MILLISECONDS, properties.getWheelSize(), System::nanoTime));
+    }
+
+    StaleOrderExpiryJob(OrderService orderService,
+                        OrderRepository orderRepository,
+                        OrderExpiryProperties properties,
+                        MeterRegistry meterRegistry,
+                        TimingWheel wheel) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.properties = properties;
+        this.wheel = wheel;
+
+        this.expiredByWheel = Counter.builder("order.expiry.expired")
+                .tag("source", "wheel")
+                .register(meterRegistry);
+        this.expiredByScan = Counter.builder("order.expiry.expired")
+                .tag("source", "scan")
+                .register(meterRegistry);
+        this.unitsReleased = meterRegistry.counter("order.expiry.units.released");
+        meterRegistry.gauge("order.expiry.wheel.tracked", tracked);
+    }
+
+    @Override
+    public void onEvent(OrderEvent event) {
+        if (!properties.isEnabled() || event.type() != OrderEventType.ORDER_CREATED
+                || event.status() != OrderStatus.PENDING) {
+            return;
+        }
+        Duration delay = Duration.between(LocalDateTime.now(), event.occurredAt().plus(properties.getPendingTimeout()));
+        if (delay.compareTo(properties.getWheelHorizon()) > 0 || tracked.get() >= properties.getMaxTracked()) {
+            return;
+        }
+        // Повторная доставка события может поставить заказ дважды - вторая отмена ничего не найдет
+        tracked.incrementAndGet();
+        Long orderId = event.orderId();
+        wheel.schedule(Math.max(delay.toNanos(), 0), TimeUnit.NANOSECONDS, () -> due.add(orderId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-expiry.tick:PT1S}")
+    public void scheduledTick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            expireDueOrders();
+        } catch (RuntimeException e) {
+            log.error("Failed to expire stale orders from the timing wheel", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.order-expiry.scan-interval:PT5M}",
+            fixedDelayString = "${app.order-expiry.scan-interval:PT5M}")
+    public void scheduledScan() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            expireBacklog();
+        } catch (RuntimeException e) {
+            log.error("Failed to expire stale orders", e);
+        }
+    }
+
+    /**
+     * Advances the timing wheel and cancels the orders whose deadline passed. Returns the number cancelled.
+     * Must not be called concurrently.
+     */
+    public long expireDueOrders() {
+        wheel.advance();
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Long> orderIds = List.copyOf(due);
+        due.clear();
+        tracked.addAndGet(-orderIds.size());
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getPendingTimeout());
+        long cancelled = 0;
+        for (int from = 0; from < orderIds.size(); from += properties.getChunkSize()) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + properties.getChunkSize(), orderIds.size()));
+            cancelled += record(orderService.expireStaleOrders(chunk, cutoff), expiredByWheel);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Cancels every stale PENDING order found by the indexed scan, oldest first. Returns the number cancelled.
+     */
+    public long expireBacklog() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getPendingTimeout());
+        long cancelled = 0;
+        while (true) {
+            List<Long> chunk = orderRepository.findUnclaimedIdsByStatusCreatedBefore(OrderStatus.PENDING, cutoff,
+                    LocalDateTime.now(), Limit.of(properties.getChunkSize()));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            int expired = record(orderService.expireStaleOrders(chunk, cutoff), expiredByScan);
+            cancelled += expired;
+            // Cancelled orders leave PENDING, so the next round finds the next ones; none cancelled means a race
+            if (expired == 0 || chunk.size() < properties.getChunkSize()) {
+                break;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("Expired {} stale orders from the backlog", cancelled);
+        }
+        return cancelled;
+    }
+
+    private int record(ExpiredOrders result, Counter expired) {
+        expired.increment(result.cancelled());
+        unitsReleased.increment(result.unitsReleased());
+        return result.cancelled();
+    }
+}
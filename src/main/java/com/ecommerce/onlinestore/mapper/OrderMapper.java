@@ -11,6 +11,10 @@ public interface OrderMapper {
 
     OrderDTO toDTO(Order order);
 
+    // For list views: items are fetched in one batch and attached by the caller
+    @Mapping(target = "orderItems", ignore = true)
+    OrderDTO toDTOWithoutItems(Order order);
+
     CustomerInfoDTO toCustomerInfoDTO(com.ecommerce.onlinestore.model.entity.CustomerInfo customerInfo);
 
     AddressDTO toAddressDTO(com.ecommerce.onlinestore.model.entity.Address address);
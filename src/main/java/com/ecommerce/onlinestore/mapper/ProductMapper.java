@@ -3,11 +3,13 @@ package com.ecommerce.onlinestore.mapper;
 import com.ecommerce.onlinestore.model.dto.ProductDTO;
 import com.ecommerce.onlinestore.model.entity.Product;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
 
     ProductDTO toDTO(Product product);
 
+    @Mapping(target = "stockShards", ignore = true)
     Product toEntity(ProductDTO productDTO);
 }
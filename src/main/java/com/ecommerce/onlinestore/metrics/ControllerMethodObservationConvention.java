@@ -0,0 +1,37 @@
+package com.ecommerce.onlinestore.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds the controller method that served a request, e.g. {@code handler="OrderController.createOrder"},
+ * to the {@code http.server.requests} metrics, so latency can be broken down per controller method
+ * and not only per URI template.
+ */
+@Component
+public class ControllerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String HANDLER = "handler";
+    private static final KeyValue HANDLER_NONE = KeyValue.of(HANDLER, "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() == null) {
+            return HANDLER_NONE;
+        }
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of(HANDLER, method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return HANDLER_NONE;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.onlinestore.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Business counters of the store. Created carts and placed orders count once their transaction commits,
+ * so rolled back attempts never show up; stock-outs count every rejected request.
+ */
+@Component
+public class StoreMetrics {
+
+    private final Counter cartsCreated;
+    private final Counter ordersPlaced;
+    private final Counter cartStockOuts;
+    private final Counter checkoutStockOuts;
+
+    public StoreMetrics(MeterRegistry meterRegistry) {
+        this.cartsCreated = meterRegistry.counter("carts.created");
+        this.ordersPlaced = meterRegistry.counter("orders.placed");
+        this.cartStockOuts = Counter.builder("inventory.stock.outs")
+                .tag("stage", "cart")
+                .register(meterRegistry);
+        this.checkoutStockOuts = Counter.builder("inventory.stock.outs")
+                .tag("stage", "checkout")
+                .register(meterRegistry);
+    }
+
+    public void cartCreated() {
+        afterCommit(cartsCreated::increment);
+    }
+
+    public void ordersPlaced(int count) {
+        afterCommit(() -> ordersPlaced.increment(count));
+    }
+
+    /**
+     * A product could not be added to a cart, or a cart could not be checked out, for lack of stock.
+     */
+    public void stockOut(StockOutStage stage) {
+        (stage == StockOutStage.CART ? cartStockOuts : checkoutStockOuts).increment();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public enum StockOutStage {
+        CART,
+        CHECKOUT
+    }
+}
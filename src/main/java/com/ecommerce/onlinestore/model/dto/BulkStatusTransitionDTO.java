@@ -0,0 +1,19 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusTransitionDTO {
+    private OrderStatus targetStatus;
+    private int transitioned;
+    private List<OrderTransitionResultDTO> results;
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.util.Constants;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusTransitionRequest {
+
+    // Either explicit ids ...
+    @Size(max = Constants.MAX_BULK_TRANSITION_ORDERS, message = "Too many orders in one request")
+    private List<@NotNull Long> orderIds;
+
+    // ... or every order currently in this status, oldest first, up to limit
+    private OrderStatus fromStatus;
+
+    @Min(value = 1, message = "Limit must be positive")
+    @Max(value = Constants.MAX_BULK_TRANSITION_ORDERS, message = "Limit is too large")
+    private Integer limit;
+
+    @NotNull(message = "Target status is required")
+    private OrderStatus targetStatus;
+}
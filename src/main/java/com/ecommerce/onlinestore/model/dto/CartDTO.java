@@ -1,5 +1,7 @@
 package com.ecommerce.onlinestore.model.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +16,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartDTO {
+    // Snowflake ids exceed 2^53, so they go out as strings that JavaScript clients can keep exact
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String sessionId;
 
@@ -1,5 +1,7 @@
 package com.ecommerce.onlinestore.model.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +14,7 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartItemDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private Long productId;
     private String productName;
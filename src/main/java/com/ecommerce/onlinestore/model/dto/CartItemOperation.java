@@ -0,0 +1,27 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.model.enums.CartItemOperationType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemOperation {
+
+    @NotNull(message = "Operation type is required")
+    private CartItemOperationType op;
+
+    // ADD адресует товар; UPDATE и REMOVE - строку корзины по itemId или по productId
+    private Long productId;
+
+    private Long itemId;
+
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.util.Constants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemOperationsRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = Constants.MAX_CART_OPERATIONS, message = "Too many operations in one request")
+    private List<@Valid CartItemOperation> operations;
+}
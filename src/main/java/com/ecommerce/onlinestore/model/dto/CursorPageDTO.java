@@ -0,0 +1,25 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    @Builder.Default
+    private List<T> content = new ArrayList<>();
+
+    private int size;
+    private boolean hasNext;
+
+    // Opaque token to pass back as "cursor" for the next page, null on the last page
+    private String nextCursor;
+}
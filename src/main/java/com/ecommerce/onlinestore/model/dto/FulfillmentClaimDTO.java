@@ -0,0 +1,22 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentClaimDTO {
+    private String claimToken;
+    private String workerId;
+    private LocalDateTime leaseExpiresAt;
+
+    // Claimed orders with their items, empty when nothing was waiting
+    private List<OrderDTO> orders;
+}
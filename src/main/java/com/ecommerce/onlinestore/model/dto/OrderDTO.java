@@ -1,6 +1,8 @@
 package com.ecommerce.onlinestore.model.dto;
 
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +18,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderDTO {
+    // Sent as a string like the other snowflake ids, see CartDTO
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String orderNumber;
     private OrderStatus status;
@@ -0,0 +1,27 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.model.enums.OrderPlacementStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPlacementDTO {
+    private String trackingNumber;
+    private OrderPlacementStatus status;
+
+    // Set once the order is placed
+    private OrderDTO order;
+
+    // Reason of a rejection
+    private String message;
+
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReportDTO {
+    private OrderStatus status;
+
+    // Both null for a report over all days
+    private LocalDate from;
+    private LocalDate to;
+
+    private long orderCount;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.enums.StatusTransitionOutcome;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTransitionResultDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long orderId;
+    private StatusTransitionOutcome outcome;
+
+    // Status before the request, absent for unknown orders
+    private OrderStatus previousStatus;
+
+    private String message;
+}
@@ -18,6 +18,7 @@ public class ProductDTO {
     private String description;
     private BigDecimal price;
     private Integer stockQuantity;
+    private Integer stockShards;
     private String category;
     private String imageUrl;
     private String sku;
@@ -0,0 +1,15 @@
+package com.ecommerce.onlinestore.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDTO {
+    private Long productId;
+    private Long unitsSold;
+}
@@ -1,39 +1,41 @@
 package com.ecommerce.onlinestore.model.entity;
 
+import com.ecommerce.onlinestore.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", indexes = @Index(name = "idx_carts_updated_at", columnList = "updated_at"))
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class Cart {
 
+    private static final boolean VERIFY_TOTALS = Boolean.getBoolean("app.cart.verify-totals");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "session_id", unique = true, length = 255)
     private String sessionId;
 
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
-    @Builder.Default
     private List<CartItem> items = new ArrayList<>();
 
     @Column(name = "total_price", precision = 10, scale = 2)
-    @Builder.Default
     private BigDecimal totalPrice = BigDecimal.ZERO;
 
     @Column(name = "total_items")
-    @Builder.Default
     private Integer totalItems = 0;
 
     @Column(name = "created_at")
@@ -42,42 +44,169 @@ public class Cart {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Индексы строк корзины, строятся лениво из items и поддерживаются addItem/removeItem/clear
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<Long, CartItem> itemsByProductId;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<Long, CartItem> itemsById;
+
+    // Индексы не входят в билдер: они всегда строятся из items
+    @Builder
+    public Cart(Long id, String sessionId, List<CartItem> items, BigDecimal totalPrice, Integer totalItems,
+                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.sessionId = sessionId;
+        this.items = items != null ? items : new ArrayList<>();
+        this.totalPrice = totalPrice != null ? totalPrice : BigDecimal.ZERO;
+        this.totalItems = totalItems != null ? totalItems : 0;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        verifyTotals();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        calculateTotals();
+        verifyTotals();
     }
 
+    /**
+     * Recomputes the totals from scratch. Mutators keep them up to date incrementally,
+     * this is only needed when items were changed bypassing them.
+     */
     public void calculateTotals() {
-        this.totalItems = items.stream()
-                .mapToInt(CartItem::getQuantity)
-                .sum();
+        this.totalItems = computeTotalItems();
+        this.totalPrice = computeTotalPrice();
+    }
 
-        this.totalPrice = items.stream()
-                .map(item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void setItems(List<CartItem> items) {
+        this.items = items;
+        // Индексы строились по прежнему списку
+        itemsByProductId = null;
+        itemsById = null;
+    }
+
+    public Optional<CartItem> findItemByProductId(Long productId) {
+        return Optional.ofNullable(productIndex().get(productId));
+    }
+
+    public Optional<CartItem> findItemById(Long itemId) {
+        CartItem item = idIndex().get(itemId);
+        if (item == null && itemsById != null) {
+            // Строки, добавленные до присвоения id, попадают в индекс при следующем промахе
+            itemsById = null;
+            item = idIndex().get(itemId);
+        }
+        return Optional.ofNullable(item);
     }
 
     public void addItem(CartItem item) {
         items.add(item);
         item.setCart(this);
-        calculateTotals();
+        if (itemsByProductId != null) {
+            itemsByProductId.put(item.getProduct().getId(), item);
+        }
+        if (itemsById != null && item.getId() != null) {
+            itemsById.put(item.getId(), item);
+        }
+        if (item.getUnitPrice() == null && item.getProduct() != null) {
+            item.setUnitPrice(item.getProduct().getPrice());
+        }
+        applyDelta(item.getQuantity(), item.getUnitPrice());
     }
 
     public void removeItem(CartItem item) {
-        items.remove(item);
+        if (items.remove(item)) {
+            applyDelta(-item.getQuantity(), item.getUnitPrice());
+            if (itemsByProductId != null) {
+                itemsByProductId.remove(item.getProduct().getId(), item);
+            }
+            if (itemsById != null && item.getId() != null) {
+                itemsById.remove(item.getId(), item);
+            }
+        }
         item.setCart(null);
-        calculateTotals();
+    }
+
+    public void changeItemQuantity(CartItem item, int quantity) {
+        int delta = quantity - item.getQuantity();
+        item.setQuantity(quantity);
+        applyDelta(delta, item.getUnitPrice());
     }
 
     public void clear() {
         items.clear();
-        calculateTotals();
+        itemsByProductId = null;
+        itemsById = null;
+        totalItems = 0;
+        totalPrice = BigDecimal.ZERO;
+        verifyTotals();
+    }
+
+    private Map<Long, CartItem> productIndex() {
+        if (itemsByProductId == null) {
+            Map<Long, CartItem> index = new HashMap<>(items.size() * 2);
+            for (CartItem item : items) {
+                index.put(item.getProduct().getId(), item);
+            }
+            itemsByProductId = index;
+        }
+        return itemsByProductId;
+    }
+
+    private Map<Long, CartItem> idIndex() {
+        if (itemsById == null) {
+            Map<Long, CartItem> index = new HashMap<>(items.size() * 2);
+            for (CartItem item : items) {
+                if (item.getId() != null) {
+                    index.put(item.getId(), item);
+                }
+            }
+            itemsById = index;
+        }
+        return itemsById;
+    }
+
+    private void applyDelta(int quantityDelta, BigDecimal unitPrice) {
+        totalItems = (totalItems == null ? 0 : totalItems) + quantityDelta;
+        BigDecimal priceDelta = unitPrice.multiply(BigDecimal.valueOf(quantityDelta));
+        totalPrice = (totalPrice == null ? BigDecimal.ZERO : totalPrice).add(priceDelta);
+        verifyTotals();
+    }
+
+    // Включается в тестах (-Dapp.cart.verify-totals=true): сверяет инкрементальные итоги с полным пересчетом
+    private void verifyTotals() {
+        if (!VERIFY_TOTALS || !Hibernate.isInitialized(items)) {
+            return;
+        }
+        int expectedItems = computeTotalItems();
+        BigDecimal expectedPrice = computeTotalPrice();
+        if (totalItems != expectedItems || totalPrice.compareTo(expectedPrice) != 0) {
+            throw new IllegalStateException("Cart " + id + " totals drifted: " + totalItems + " items / "
+                    + totalPrice + ", expected " + expectedItems + " items / " + expectedPrice);
+        }
+    }
+
+    private int computeTotalItems() {
+        return items.stream()
+                .mapToInt(CartItem::getQuantity)
+                .sum();
+    }
+
+    private BigDecimal computeTotalPrice() {
+        return items.stream()
+                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 }
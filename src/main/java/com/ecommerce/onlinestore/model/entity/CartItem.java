@@ -1,5 +1,6 @@
 package com.ecommerce.onlinestore.model.entity;
 
+import com.ecommerce.onlinestore.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +16,7 @@ import java.math.BigDecimal;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
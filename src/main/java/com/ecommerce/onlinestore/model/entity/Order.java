@@ -1,6 +1,8 @@
 package com.ecommerce.onlinestore.model.entity;
 
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.id.IdGenerators;
+import com.ecommerce.onlinestore.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,7 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_lease", columnList = "status, lease_expires_at"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +25,7 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "order_number", unique = true, nullable = false, length = 50)
@@ -61,12 +67,22 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Fulfillment claim, written only by OrderClaimOperations so entity updates never overwrite a worker's claim
+    @Column(name = "claim_token", length = 36, insertable = false, updatable = false)
+    private String claimToken;
+
+    @Column(name = "claimed_by", length = 100, insertable = false, updatable = false)
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at", insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         if (orderNumber == null) {
-            orderNumber = "ORD-" + System.currentTimeMillis();
+            orderNumber = "ORD-" + IdGenerators.current().nextId();
         }
     }
 
@@ -0,0 +1,52 @@
+package com.ecommerce.onlinestore.model.entity;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Number and total amount of the orders created on one day that are currently in one status.
+ * Each (day, status) is split over several slots so concurrent order changes rarely update the same row;
+ * readers sum the slots.
+ */
+@Entity
+@Table(name = "order_daily_rollups")
+@IdClass(OrderDailyRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDailyRollup {
+
+    @Id
+    @Column(name = "order_date")
+    private LocalDate orderDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    @Id
+    private Integer slot;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate orderDate;
+        private OrderStatus status;
+        private Integer slot;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.onlinestore.model.entity;
+
+import com.ecommerce.onlinestore.id.SnowflakeId;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order lifecycle event written in the transaction of the change, deleted once every listener has handled it.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_next_attempt_at", columnList = "next_attempt_at"),
+        @Index(name = "idx_outbox_events_order_id_id", columnList = "order_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // Snowflake ids grow with time, so ORDER BY id is the order the events were written in
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private OrderEventType eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -2,12 +2,13 @@ package com.ecommerce.onlinestore.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_name_id", columnList = "name, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +32,12 @@ public class Product {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    // Больше нуля - остаток разбит на столько шардов в product_stock_shards
+    @Column(name = "stock_shards", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer stockShards = 0;
+
     @Column(length = 100)
     private String category;
 
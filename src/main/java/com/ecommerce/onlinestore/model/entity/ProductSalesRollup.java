@@ -0,0 +1,38 @@
+package com.ecommerce.onlinestore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Units of a product in orders that were not cancelled, split over slots like {@link OrderDailyRollup}.
+ */
+@Entity
+@Table(name = "product_sales_rollups")
+@IdClass(ProductSalesRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSalesRollup {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    private Integer slot;
+
+    @Column(name = "units_sold", nullable = false)
+    private Long unitsSold;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Integer slot;
+    }
+}
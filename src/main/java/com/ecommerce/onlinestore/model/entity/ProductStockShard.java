@@ -0,0 +1,40 @@
+package com.ecommerce.onlinestore.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Part of the stock of a hot product. Checkouts decrement one shard instead of the products row,
+ * products.stock_quantity holds the periodically refreshed sum.
+ */
+@Entity
+@Table(name = "product_stock_shards")
+@IdClass(ProductStockShard.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStockShard {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "shard_no")
+    private Integer shardNo;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Integer shardNo;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.onlinestore.model.enums;
+
+public enum CartItemOperationType {
+    ADD,
+    UPDATE,
+    REMOVE
+}
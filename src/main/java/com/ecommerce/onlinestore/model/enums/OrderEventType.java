@@ -0,0 +1,7 @@
+package com.ecommerce.onlinestore.model.enums;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    ORDER_CANCELLED
+}
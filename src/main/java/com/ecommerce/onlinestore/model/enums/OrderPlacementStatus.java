@@ -0,0 +1,7 @@
+package com.ecommerce.onlinestore.model.enums;
+
+public enum OrderPlacementStatus {
+    QUEUED,
+    PLACED,
+    REJECTED
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.onlinestore.model.enums;
+
+public enum StatusTransitionOutcome {
+    TRANSITIONED,
+    UNCHANGED,
+    // Заказ успел уйти из fromStatus, пока его не заблокировали
+    STATUS_CHANGED,
+    INVALID_TRANSITION,
+    NOT_FOUND
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.onlinestore.model.exception;
+
+public class ClaimNotHeldException extends BusinessException {
+
+    public ClaimNotHeldException(String claimToken) {
+        super("Claim " + claimToken + " does not hold the order, its lease may have expired");
+    }
+}
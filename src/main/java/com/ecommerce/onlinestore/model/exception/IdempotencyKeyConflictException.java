@@ -0,0 +1,8 @@
+package com.ecommerce.onlinestore.model.exception;
+
+public class IdempotencyKeyConflictException extends BusinessException {
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
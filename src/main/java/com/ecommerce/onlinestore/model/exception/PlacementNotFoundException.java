@@ -0,0 +1,8 @@
+package com.ecommerce.onlinestore.model.exception;
+
+public class PlacementNotFoundException extends BusinessException {
+
+    public PlacementNotFoundException(String trackingNumber) {
+        super("Order placement not found with tracking number: " + trackingNumber);
+    }
+}
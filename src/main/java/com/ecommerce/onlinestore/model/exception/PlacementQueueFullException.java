@@ -0,0 +1,8 @@
+package com.ecommerce.onlinestore.model.exception;
+
+public class PlacementQueueFullException extends BusinessException {
+
+    public PlacementQueueFullException() {
+        super("Order placement queue is full, please retry later");
+    }
+}
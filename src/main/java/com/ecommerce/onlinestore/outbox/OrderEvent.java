@@ -0,0 +1,22 @@
+package com.ecommerce.onlinestore.outbox;
+
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of an order at the moment of a lifecycle change. {@code eventId} is unique per event,
+ * listeners use it to drop redeliveries.
+ */
+public record OrderEvent(Long eventId,
+                         OrderEventType type,
+                         Long orderId,
+                         String orderNumber,
+                         OrderStatus status,
+                         OrderStatus previousStatus,
+                         BigDecimal totalAmount,
+                         String customerEmail,
+                         LocalDateTime occurredAt) {
+}
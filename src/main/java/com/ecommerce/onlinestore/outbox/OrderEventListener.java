@@ -0,0 +1,13 @@
+package com.ecommerce.onlinestore.outbox;
+
+/**
+ * Receives order lifecycle events from the {@link OutboxDispatcher}. Every bean implementing it is registered.
+ * <p>
+ * Delivery is at least once and in order per order: a listener that throws gets the event again later,
+ * together with the other listeners, and later events of that order wait until it succeeds.
+ */
+@FunctionalInterface
+public interface OrderEventListener {
+
+    void onEvent(OrderEvent event);
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.onlinestore.outbox;
+
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.OutboxEvent;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.OrderStatusRow;
+import com.ecommerce.onlinestore.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes order lifecycle events to the outbox table. Must run in the transaction of the order change,
+ * so an event exists exactly when the change was committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void append(OrderEventType type, Order order, OrderStatus previousStatus) {
+        outboxEventRepository.save(toEvent(type, order, previousStatus, LocalDateTime.now()));
+    }
+
+    public void appendAll(OrderEventType type, Collection<Order> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = orders.stream()
+                .map(order -> toEvent(type, order, null, now))
+                .toList();
+        outboxEventRepository.saveAll(events);
+    }
+
+    /**
+     * Events of a set-based status change, {@code rows} hold the orders as they were before it.
+     */
+    public void appendStatusChanges(OrderEventType type, Collection<OrderStatusRow> rows, OrderStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = rows.stream()
+                .map(row -> toEvent(new OrderEvent(null, type, row.id(), row.orderNumber(), status, row.status(),
+                        row.totalAmount(), row.customerEmail(), now)))
+                .toList();
+        outboxEventRepository.saveAll(events);
+    }
+
+    private OutboxEvent toEvent(OrderEventType type, Order order, OrderStatus previousStatus, LocalDateTime now) {
+        return toEvent(new OrderEvent(null, type, order.getId(), order.getOrderNumber(), order.getStatus(),
+                previousStatus, order.getTotalAmount(),
+                order.getCustomerInfo() != null ? order.getCustomerInfo().getCustomerEmail() : null, now));
+    }
+
+    private OutboxEvent toEvent(OrderEvent event) {
+        return OutboxEvent.builder()
+                .orderId(event.orderId())
+                .eventType(event.type())
+                .payload(toJson(event))
+                .createdAt(event.occurredAt())
+                .nextAttemptAt(event.occurredAt())
+                .build();
+    }
+
+    private String toJson(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event of order " + event.orderId(), e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.onlinestore.outbox;
+
+import com.ecommerce.onlinestore.config.OutboxProperties;
+import com.ecommerce.onlinestore.model.entity.OutboxEvent;
+import com.ecommerce.onlinestore.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delivers outbox events to the {@link OrderEventListener} beans in batches of {@code app.outbox.batch-size},
+ * oldest first. A batch is read only after the previous one was handled, so slow listeners hold events back in
+ * the table instead of in memory; each run handles at most {@code max-batches-per-run} batches.
+ * <p>
+ * Handled events are deleted. When a listener throws, the event is retried with exponential backoff and the
+ * later events of the same order are held back, the other orders go on.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<OrderEventListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    private final Counter delivered;
+    private final Counter failed;
+    private final Timer lag;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ObjectProvider<OrderEventListener> listeners,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            OutboxProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.delivered = meterRegistry.counter("outbox.events", "outcome", "delivered");
+        this.failed = meterRegistry.counter("outbox.events", "outcome", "failed");
+        this.lag = Timer.builder("outbox.delivery.lag")
+                .description("Time from writing an event to its delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+    public void scheduledRun() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            dispatchPending();
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    /**
+     * Delivers the events that are due. Returns the number of delivered events.
+     */
+    public int dispatchPending() {
+        List<OrderEventListener> targets = listeners.orderedStream().toList();
+        int total = 0;
+        for (int run = 0; run < properties.getMaxBatchesPerRun(); run++) {
+            List<OutboxEvent> batch = outboxEventRepository.findDispatchable(
+                    LocalDateTime.now(), Limit.of(properties.getBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            total += dispatch(batch, targets);
+            if (batch.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Dispatched {} outbox events", total);
+        }
+        return total;
+    }
+
+    private int dispatch(List<OutboxEvent> batch, List<OrderEventListener> targets) {
+        List<Long> handled = new ArrayList<>(batch.size());
+        List<OutboxEvent> failures = new ArrayList<>();
+        Set<Long> blockedOrders = new HashSet<>();
+
+        for (OutboxEvent event : batch) {
+            // Порядок внутри заказа: после ошибки остальные события заказа ждут
+            if (blockedOrders.contains(event.getOrderId())) {
+                continue;
+            }
+            try {
+                OrderEvent orderEvent = read(event);
+                for (OrderEventListener listener : targets) {
+                    listener.onEvent(orderEvent);
+                }
+                handled.add(event.getId());
+                lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                log.warn("Delivery of outbox event {} ({} of order {}) failed, attempt {}: {}", event.getId(),
+                        event.getEventType(), event.getOrderId(), event.getAttempts() + 1, e.toString());
+                event.setLastError(truncate(e.toString()));
+                failures.add(event);
+                blockedOrders.add(event.getOrderId());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllByIdInBatch(handled);
+            for (OutboxEvent event : failures) {
+                outboxEventRepository.markFailed(event.getId(),
+                        LocalDateTime.now().plus(backoff(event.getAttempts() + 1)), event.getLastError());
+            }
+        });
+        delivered.increment(handled.size());
+        failed.increment(failures.size());
+        return handled.size();
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private OrderEvent read(OutboxEvent event) {
+        try {
+            OrderEvent payload = objectMapper.readValue(event.getPayload(), OrderEvent.class);
+            return new OrderEvent(event.getId(), payload.type(), payload.orderId(), payload.orderNumber(),
+                    payload.status(), payload.previousStatus(), payload.totalAmount(), payload.customerEmail(),
+                    payload.occurredAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read payload of outbox event " + event.getId(), e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,277 @@
+package com.ecommerce.onlinestore.placement;
+
+import com.ecommerce.onlinestore.config.OrderPipelineProperties;
+import com.ecommerce.onlinestore.id.IdGenerators;
+import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderPlacementDTO;
+import com.ecommerce.onlinestore.model.enums.OrderPlacementStatus;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.model.exception.PlacementNotFoundException;
+import com.ecommerce.onlinestore.model.exception.PlacementQueueFullException;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous order placement with group commit. Submitted orders are queued and a single worker
+ * collects them into batches of up to {@code app.order-pipeline.batch-size}, waiting at most
+ * {@code max-batch-delay} for a batch to fill, and places each batch with one transaction.
+ * If the stock update of a batch fails, its orders are placed one by one so only the short ones are rejected.
+ * <p>
+ * Results are kept by tracking number for {@code result-ttl}, at most {@code result-maximum-size} of them.
+ * Queued orders are lost on shutdown or a crash, clients that did not see a result should check their cart
+ * and retry.
+ */
+@Slf4j
+@Component
+public class OrderPlacementPipeline {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final OrderService orderService;
+    private final OrderPipelineProperties properties;
+    private final BlockingQueue<Placement> queue;
+    private final Cache<String, Placement> placements;
+    private final ExecutorService resultExecutor;
+
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderPlacementPipeline(OrderService orderService,
+                                  OrderPipelineProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.placements = Caffeine.newBuilder()
+                .maximumSize(properties.getResultMaximumSize())
+                .expireAfterWrite(properties.getResultTtl())
+                .build();
+        AtomicInteger resultThreads = new AtomicInteger();
+        this.resultExecutor = Executors.newFixedThreadPool(properties.getResultThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "order-placement-result-" + resultThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.batchTimer = Timer.builder("orders.pipeline.batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("orders.pipeline.batch.size")
+                .register(meterRegistry);
+        this.fallbacks = meterRegistry.counter("orders.pipeline.fallbacks");
+        meterRegistry.gaugeCollectionSize("orders.pipeline.queued", Tags.empty(), queue);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runWorker, "order-placement-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(properties.getMaxBatchDelay().toMillis() + IDLE_POLL_MILLIS + 5_000);
+        }
+        List<Placement> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(placement -> complete(placement, rejected("Order placement was interrupted by a shutdown")));
+        resultExecutor.shutdown();
+        resultExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues the order and returns its tracking record in status QUEUED.
+     *
+     * @throws PlacementQueueFullException when the queue is at {@code queue-capacity}
+     */
+    public OrderPlacementDTO submit(CreateOrderRequest request) {
+        if (!running) {
+            throw new BusinessException("Asynchronous order placement is disabled");
+        }
+        Placement placement = new Placement("TRK-" + IdGenerators.current().nextId(), request, LocalDateTime.now());
+        placements.put(placement.trackingNumber(), placement);
+        if (!queue.offer(placement)) {
+            placements.invalidate(placement.trackingNumber());
+            throw new PlacementQueueFullException();
+        }
+        log.debug("Queued order placement {} for cart {}", placement.trackingNumber(), request.getCartId());
+        return placement.snapshot();
+    }
+
+    public OrderPlacementDTO getPlacement(String trackingNumber) {
+        return find(trackingNumber).snapshot();
+    }
+
+    /**
+     * Completes with the final record (PLACED or REJECTED) of the placement.
+     */
+    public CompletableFuture<OrderPlacementDTO> awaitPlacement(String trackingNumber) {
+        return find(trackingNumber).result();
+    }
+
+    /**
+     * Threads for work waiting on {@link #awaitPlacement} results, such as writing them to clients. Stages attached
+     * without an executor run on the worker and hold up the next batch.
+     */
+    public Executor resultExecutor() {
+        return resultExecutor;
+    }
+
+    // Число хранимых результатов после вытеснения, для тестов
+    long retainedPlacements() {
+        placements.cleanUp();
+        return placements.estimatedSize();
+    }
+
+    private Placement find(String trackingNumber) {
+        Placement placement = placements.getIfPresent(trackingNumber);
+        if (placement == null) {
+            throw new PlacementNotFoundException(trackingNumber);
+        }
+        return placement;
+    }
+
+    private void runWorker() {
+        int batchSize = properties.getBatchSize();
+        List<Placement> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Placement first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, batchSize);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order placement batch failed", e);
+                batch.forEach(placement -> complete(placement, rejected("Order placement failed")));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Добираем пачку, пока она не заполнится или не истечет задержка первого заказа
+    private void collect(List<Placement> batch, int batchSize) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxBatchDelay().toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Placement next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    void process(List<Placement> batch) {
+        long start = System.nanoTime();
+        List<CreateOrderRequest> requests = batch.stream().map(Placement::request).toList();
+
+        List<OrderPlacementDTO> outcomes;
+        try {
+            outcomes = orderService.createOrders(requests);
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} orders failed, placing them one by one: {}", batch.size(), e.getMessage());
+            fallbacks.increment();
+            outcomes = requests.stream().map(this::placeSingly).toList();
+        }
+
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), outcomes.get(i));
+        }
+    }
+
+    private OrderPlacementDTO placeSingly(CreateOrderRequest request) {
+        try {
+            OrderDTO order = orderService.createOrder(request);
+            return OrderPlacementDTO.builder()
+                    .status(OrderPlacementStatus.PLACED)
+                    .order(order)
+                    .build();
+        } catch (BusinessException e) {
+            return rejected(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to place order for cart {}", request.getCartId(), e);
+            return rejected("Order placement failed");
+        }
+    }
+
+    private void complete(Placement placement, OrderPlacementDTO outcome) {
+        outcome.setTrackingNumber(placement.trackingNumber());
+        outcome.setAcceptedAt(placement.acceptedAt());
+        outcome.setCompletedAt(LocalDateTime.now());
+        placement.result().complete(outcome);
+    }
+
+    private static OrderPlacementDTO rejected(String message) {
+        return OrderPlacementDTO.builder()
+                .status(OrderPlacementStatus.REJECTED)
+                .message(message)
+                .build();
+    }
+
+    record Placement(String trackingNumber, CreateOrderRequest request, LocalDateTime acceptedAt,
+                     CompletableFuture<OrderPlacementDTO> result) {
+
+        Placement(String trackingNumber, CreateOrderRequest request, LocalDateTime acceptedAt) {
+            this(trackingNumber, request, acceptedAt, new CompletableFuture<>());
+        }
+
+        OrderPlacementDTO snapshot() {
+            if (result.isDone()) {
+                return result.join();
+            }
+            return OrderPlacementDTO.builder()
+                    .trackingNumber(trackingNumber)
+                    .status(OrderPlacementStatus.QUEUED)
+                    .acceptedAt(acceptedAt)
+                    .build();
+        }
+    }
+}
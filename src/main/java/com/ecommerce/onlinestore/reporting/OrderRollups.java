@@ -0,0 +1,112 @@
+package com.ecommerce.onlinestore.reporting;
+
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.OrderItem;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.OrderRollupDelta;
+import com.ecommerce.onlinestore.repository.OrderRollupRepository;
+import com.ecommerce.onlinestore.repository.OrderStatusRow;
+import com.ecommerce.onlinestore.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps the reporting rollups in step with the orders. Must run in the transaction of the order change,
+ * like {@link com.ecommerce.onlinestore.outbox.OrderOutbox}, so the rollups never count an uncommitted change.
+ * <p>
+ * Each call adds its deltas to one randomly chosen slot; only the sum over the slots is meaningful.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderRollups {
+
+    private final OrderRollupRepository rollupRepository;
+
+    public void recordCreated(Collection<Order> orders) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        Map<Long, Long> units = new HashMap<>();
+        for (Order order : orders) {
+            add(deltas, order.getCreatedAt(), order.getStatus(), 1, order.getTotalAmount());
+            for (OrderItem item : order.getOrderItems()) {
+                units.merge(item.getProductId(), (long) item.getQuantity(), Long::sum);
+            }
+        }
+        int slot = nextSlot();
+        rollupRepository.addToOrderRollups(toDeltas(deltas), slot);
+        rollupRepository.addToProductSales(units, slot);
+    }
+
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        add(deltas, order.getCreatedAt(), previousStatus, -1, order.getTotalAmount());
+        add(deltas, order.getCreatedAt(), order.getStatus(), 1, order.getTotalAmount());
+        rollupRepository.addToOrderRollups(toDeltas(deltas), nextSlot());
+    }
+
+    /**
+     * Status change of a set-based update, {@code rows} hold the orders as they were before it.
+     */
+    public void recordStatusChanges(Collection<OrderStatusRow> rows, OrderStatus status) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        for (OrderStatusRow row : rows) {
+            add(deltas, row.createdAt(), row.status(), -1, row.totalAmount());
+            add(deltas, row.createdAt(), status, 1, row.totalAmount());
+        }
+        rollupRepository.addToOrderRollups(toDeltas(deltas), nextSlot());
+    }
+
+    public void recordDeleted(OrderStatusRow row) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        add(deltas, row.createdAt(), row.status(), -1, row.totalAmount());
+        rollupRepository.addToOrderRollups(toDeltas(deltas), nextSlot());
+    }
+
+    /**
+     * Takes the units of cancelled or deleted orders out of the product sales.
+     */
+    public void recordUnitsReturned(Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, Long> units = new HashMap<>();
+        quantitiesByProductId.forEach((productId, quantity) -> units.put(productId, -(long) quantity));
+        rollupRepository.addToProductSales(units, nextSlot());
+    }
+
+    private static void add(Map<RollupKey, Delta> deltas, LocalDateTime createdAt, OrderStatus status,
+                            int orders, BigDecimal amount) {
+        BigDecimal revenue = orders < 0 ? amount.negate() : amount;
+        deltas.merge(new RollupKey(createdAt.toLocalDate(), status), new Delta(orders, revenue), Delta::plus);
+    }
+
+    // Пары "минус в старом статусе, плюс в новом" для одного дня и статуса взаимно гасятся
+    private static List<OrderRollupDelta> toDeltas(Map<RollupKey, Delta> deltas) {
+        List<OrderRollupDelta> result = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta.orders() != 0 || delta.revenue().signum() != 0) {
+                result.add(new OrderRollupDelta(key.orderDate(), key.status(), delta.orders(), delta.revenue()));
+            }
+        });
+        return result;
+    }
+
+    private static int nextSlot() {
+        return ThreadLocalRandom.current().nextInt(Constants.ROLLUP_SLOTS);
+    }
+
+    private record RollupKey(LocalDate orderDate, OrderStatus status) {
+    }
+
+    private record Delta(long orders, BigDecimal revenue) {
+
+        Delta plus(Delta other) {
+            return new Delta(orders + other.orders, revenue.add(other.revenue));
+        }
+    }
+}
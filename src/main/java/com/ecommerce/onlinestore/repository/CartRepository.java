@@ -1,6 +1,7 @@
 package com.ecommerce.onlinestore.repository;
 
 import com.ecommerce.onlinestore.model.entity.Cart;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,6 +20,9 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.items i LEFT JOIN FETCH i.product WHERE c.id = :id")
     Optional<Cart> findByIdWithItems(@Param("id") Long id);
 
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.items i LEFT JOIN FETCH i.product WHERE c.id IN :ids")
+    List<Cart> findByIdInWithItems(@Param("ids") List<Long> ids);
+
     @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.items i LEFT JOIN FETCH i.product WHERE c.sessionId = :sessionId")
     Optional<Cart> findBySessionIdWithItems(@Param("sessionId") String sessionId);
 
@@ -27,4 +32,21 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
 
     @Query("SELECT COUNT(c) FROM Cart c WHERE c.updatedAt > :since")
     Long countActiveCarts(@Param("since") LocalDateTime since);
+
+    long countByUpdatedAtBefore(LocalDateTime cutoffDate);
+
+    @Query("SELECT c.id FROM Cart c WHERE c.updatedAt < :cutoffDate AND c.id > :afterId ORDER BY c.id")
+    List<Long> findExpiredCartIds(@Param("cutoffDate") LocalDateTime cutoffDate, @Param("afterId") Long afterId,
+                                  Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM CartItem i WHERE i.cart.id IN "
+            + "(SELECT c.id FROM Cart c WHERE c.id BETWEEN :fromId AND :toId AND c.updatedAt < :cutoffDate)")
+    int deleteExpiredCartItemsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                                      @Param("cutoffDate") LocalDateTime cutoffDate);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id BETWEEN :fromId AND :toId AND c.updatedAt < :cutoffDate")
+    int deleteExpiredCartsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                                  @Param("cutoffDate") LocalDateTime cutoffDate);
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.onlinestore.repository;
+
+import java.util.List;
+
+/**
+ * Orders taken by one claim. {@code reclaimed} counts those whose previous lease had expired.
+ */
+public record ClaimedOrders(List<Long> orderIds, int reclaimed) {
+}
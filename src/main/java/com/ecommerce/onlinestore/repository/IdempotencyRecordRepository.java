@@ -0,0 +1,28 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain INSERT: a key committed concurrently elsewhere fails here instead of being merged over
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, order_id, response, created_at) "
+            + "VALUES (:key, :requestHash, :orderId, :response, :createdAt)", nativeQuery = true)
+    void insert(@Param("key") String key,
+                @Param("requestHash") String requestHash,
+                @Param("orderId") Long orderId,
+                @Param("response") String response,
+                @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
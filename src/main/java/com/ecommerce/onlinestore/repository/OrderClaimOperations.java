@@ -0,0 +1,30 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface OrderClaimOperations {
+
+    /**
+     * Claims up to {@code max} unclaimed orders in one of {@code statuses}, oldest first, for {@code token}.
+     * Orders with an expired lease count as unclaimed. Rows locked by a concurrent claim are skipped,
+     * so concurrent workers never wait for each other or get the same order.
+     */
+    ClaimedOrders claim(Collection<OrderStatus> statuses, String token, String workerId,
+                        LocalDateTime leaseExpiresAt, int max);
+
+    /**
+     * Extends the lease of every order still held by {@code token}. Returns the number of orders.
+     */
+    int renewLease(String token, LocalDateTime leaseExpiresAt);
+
+    /**
+     * Locks the order if {@code token} still holds it.
+     */
+    Optional<OrderStatusRow> lockClaimed(Long orderId, String token);
+
+    int releaseClaim(Long orderId, String token);
+}
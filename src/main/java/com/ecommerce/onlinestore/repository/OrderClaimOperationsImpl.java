@@ -0,0 +1,78 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+class OrderClaimOperationsImpl implements OrderClaimOperations {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderClaimOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Requires a surrounding transaction, otherwise the row locks end with the SELECT
+    @Override
+    public ClaimedOrders claim(Collection<OrderStatus> statuses, String token, String workerId,
+                               LocalDateTime leaseExpiresAt, int max) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(statuses.size() + 2);
+        statuses.forEach(status -> args.add(status.name()));
+        args.add(now);
+        args.add(max);
+
+        List<Long> orderIds = new ArrayList<>(max);
+        int[] reclaimed = new int[1];
+        jdbcTemplate.query("SELECT id, claim_token FROM orders WHERE status IN (" + placeholders(statuses) + ") "
+                        + "AND (lease_expires_at IS NULL OR lease_expires_at < ?) "
+                        + "LIMIT ? FOR UPDATE SKIP LOCKED",
+                rs -> {
+                    orderIds.add(rs.getLong(1));
+                    if (rs.getString(2) != null) {
+                        reclaimed[0]++;
+                    }
+                }, args.toArray());
+        if (orderIds.isEmpty()) {
+            return new ClaimedOrders(List.of(), 0);
+        }
+
+        List<Object> updateArgs = new ArrayList<>(orderIds.size() + 3);
+        updateArgs.add(token);
+        updateArgs.add(workerId);
+        updateArgs.add(Timestamp.valueOf(leaseExpiresAt));
+        updateArgs.addAll(orderIds);
+        jdbcTemplate.update("UPDATE orders SET claim_token = ?, claimed_by = ?, lease_expires_at = ? "
+                + "WHERE id IN (" + placeholders(orderIds) + ")", updateArgs.toArray());
+        return new ClaimedOrders(orderIds, reclaimed[0]);
+    }
+
+    @Override
+    public int renewLease(String token, LocalDateTime leaseExpiresAt) {
+        return jdbcTemplate.update("UPDATE orders SET lease_expires_at = ? WHERE claim_token = ?",
+                Timestamp.valueOf(leaseExpiresAt), token);
+    }
+
+    @Override
+    public Optional<OrderStatusRow> lockClaimed(Long orderId, String token) {
+        return jdbcTemplate.query("SELECT id, order_number, status, total_amount, customer_email, created_at FROM orders "
+                        + "WHERE id = ? AND claim_token = ? FOR UPDATE",
+                (rs, rowNum) -> new OrderStatusRow(rs.getLong(1), rs.getString(2),
+                        OrderStatus.valueOf(rs.getString(3)), rs.getBigDecimal(4), rs.getString(5),
+                        rs.getTimestamp(6).toLocalDateTime()),
+                orderId, token).stream().findFirst();
+    }
+
+    @Override
+    public int releaseClaim(Long orderId, String token) {
+        return jdbcTemplate.update("UPDATE orders SET claim_token = NULL, claimed_by = NULL, lease_expires_at = NULL "
+                + "WHERE id = ? AND claim_token = ?", orderId, token);
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(",", Collections.nCopies(values.size(), "?"));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,6 +14,9 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
 
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderItem> findByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT oi FROM OrderItem oi WHERE oi.productId = :productId")
     List<OrderItem> findByProductId(@Param("productId") Long productId);
 
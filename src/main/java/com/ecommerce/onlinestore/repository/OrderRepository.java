@@ -2,10 +2,15 @@ package com.ecommerce.onlinestore.repository;
 
 import com.ecommerce.onlinestore.model.entity.Order;
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.util.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,9 +18,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderStatusOperations, OrderClaimOperations {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
@@ -47,4 +53,31 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                        @Param("endDate") LocalDateTime endDate);
 
     List<Order> findByStatusIn(List<OrderStatus> statuses);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status ORDER BY o.id")
+    List<Long> findIdsByStatus(@Param("status") OrderStatus status, Limit limit);
+
+    // Oldest first, orders under a live fulfillment claim are left to their worker
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.createdAt < :createdBefore "
+            + "AND (o.leaseExpiresAt IS NULL OR o.leaseExpiresAt < :now) ORDER BY o.createdAt, o.id")
+    List<Long> findUnclaimedIdsByStatusCreatedBefore(@Param("status") OrderStatus status,
+                                                     @Param("createdBefore") LocalDateTime createdBefore,
+                                                     @Param("now") LocalDateTime now,
+                                                     Limit limit);
+
+    // Must be consumed inside a transaction and closed; null filters are ignored.
+    // On MySQL the fetch size only takes effect with useCursorFetch=true in the JDBC URL, which also leaves the
+    // connection free for other queries while the stream is open
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE))
+    @Query("SELECT o FROM Order o WHERE (:status IS NULL OR o.status = :status) "
+            + "AND (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to) ORDER BY o.id")
+    Stream<Order> streamForExport(@Param("status") OrderStatus status,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> seekFirstByCreatedAt(Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> seekByCreatedAtBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,12 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Change of one (day, status) order rollup; negative when orders left the status.
+ */
+public record OrderRollupDelta(LocalDate orderDate, OrderStatus status, long orders, BigDecimal revenue) {
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.onlinestore.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface OrderRollupOperations {
+
+    /**
+     * Adds the deltas to the given slot of their rollup rows, creating missing rows.
+     * Rows are updated in key order so concurrent callers do not deadlock.
+     */
+    void addToOrderRollups(Collection<OrderRollupDelta> deltas, int slot);
+
+    void addToProductSales(Map<Long, Long> unitsByProductId, int slot);
+
+    /**
+     * Replaces all rollups with aggregates over the current orders and order items.
+     */
+    void rebuildRollups();
+}
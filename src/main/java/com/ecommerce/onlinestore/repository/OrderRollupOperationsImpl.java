@@ -0,0 +1,67 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.*;
+
+class OrderRollupOperationsImpl implements OrderRollupOperations {
+
+    // A single statement per row: UPDATE-then-INSERT takes InnoDB gap locks that deadlock concurrent inserts
+    private static final String UPSERT_ORDER_ROLLUP_SQL =
+            "INSERT INTO order_daily_rollups (order_count, revenue, order_date, status, slot) VALUES (?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+                    + "revenue = revenue + VALUES(revenue)";
+
+    private static final String UPSERT_PRODUCT_SALES_SQL =
+            "INSERT INTO product_sales_rollups (units_sold, product_id, slot) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE units_sold = units_sold + VALUES(units_sold)";
+
+    private static final Comparator<OrderRollupDelta> KEY_ORDER = Comparator
+            .comparing(OrderRollupDelta::orderDate)
+            .thenComparing(OrderRollupDelta::status);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderRollupOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addToOrderRollups(Collection<OrderRollupDelta> deltas, int slot) {
+        List<Object[]> rows = deltas.stream()
+                .sorted(KEY_ORDER)
+                .map(delta -> new Object[]{delta.orders(), delta.revenue(), Date.valueOf(delta.orderDate()),
+                        delta.status().name(), slot})
+                .toList();
+        upsert(UPSERT_ORDER_ROLLUP_SQL, rows);
+    }
+
+    @Override
+    public void addToProductSales(Map<Long, Long> unitsByProductId, int slot) {
+        List<Object[]> rows = new TreeMap<>(unitsByProductId).entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), slot})
+                .toList();
+        upsert(UPSERT_PRODUCT_SALES_SQL, rows);
+    }
+
+    @Override
+    public void rebuildRollups() {
+        jdbcTemplate.update("DELETE FROM order_daily_rollups");
+        jdbcTemplate.update("DELETE FROM product_sales_rollups");
+        jdbcTemplate.update("INSERT INTO order_daily_rollups (order_date, status, slot, order_count, revenue) "
+                + "SELECT CAST(created_at AS DATE), status, 0, COUNT(*), SUM(total_amount) FROM orders "
+                + "GROUP BY CAST(created_at AS DATE), status");
+        jdbcTemplate.update("INSERT INTO product_sales_rollups (product_id, slot, units_sold) "
+                + "SELECT oi.product_id, 0, SUM(oi.quantity) FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+                + "WHERE o.status <> ? GROUP BY oi.product_id", OrderStatus.CANCELLED.name());
+    }
+
+    // Rows go in key order, so two transactions touching the same keys lock them in the same order
+    private void upsert(String upsertSql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(upsertSql, rows);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.dto.ProductSalesDTO;
+import com.ecommerce.onlinestore.model.entity.OrderDailyRollup;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderRollupRepository extends JpaRepository<OrderDailyRollup, OrderDailyRollup.Key>, OrderRollupOperations {
+
+    @Query("SELECT COALESCE(SUM(r.orderCount), 0) FROM OrderDailyRollup r WHERE r.status = :status")
+    long sumOrderCount(@Param("status") OrderStatus status);
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM OrderDailyRollup r WHERE r.status = :status")
+    BigDecimal sumRevenue(@Param("status") OrderStatus status);
+
+    @Query("SELECT COALESCE(SUM(r.orderCount), 0) FROM OrderDailyRollup r "
+            + "WHERE r.status = :status AND r.orderDate BETWEEN :from AND :to")
+    long sumOrderCountBetween(@Param("status") OrderStatus status,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM OrderDailyRollup r "
+            + "WHERE r.status = :status AND r.orderDate BETWEEN :from AND :to")
+    BigDecimal sumRevenueBetween(@Param("status") OrderStatus status,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    @Query("SELECT new com.ecommerce.onlinestore.model.dto.ProductSalesDTO(r.productId, SUM(r.unitsSold)) "
+            + "FROM ProductSalesRollup r GROUP BY r.productId HAVING SUM(r.unitsSold) > 0 "
+            + "ORDER BY SUM(r.unitsSold) DESC, r.productId")
+    List<ProductSalesDTO> findTopSellingProducts(Limit limit);
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface OrderStatusOperations {
+
+    /**
+     * Locks the orders until the end of the transaction and returns their current status.
+     * Unknown ids are left out.
+     */
+    List<OrderStatusRow> lockStatuses(Collection<Long> orderIds);
+
+    /**
+     * Locks those of the given orders that are still PENDING, were created before {@code createdBefore}
+     * and are not held under a live fulfillment claim, and returns them.
+     */
+    List<OrderStatusRow> lockStalePending(Collection<Long> orderIds, LocalDateTime createdBefore);
+
+    /**
+     * Sets the status of all given orders with one UPDATE. Returns the number of orders updated.
+     */
+    int updateStatuses(Collection<Long> orderIds, OrderStatus status);
+
+    /**
+     * Ordered quantity per product over the items of the given orders.
+     */
+    Map<Long, Integer> sumItemQuantities(Collection<Long> orderIds);
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+class OrderStatusOperationsImpl implements OrderStatusOperations {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    OrderStatusOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<OrderStatusRow> lockStatuses(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        // Pending JPA writes must reach the connection before we read around the persistence context
+        entityManager.flush();
+        return jdbcTemplate.query(
+                "SELECT id, order_number, status, total_amount, customer_email, created_at FROM orders WHERE id IN ("
+                        + placeholders(orderIds) + ") ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> new OrderStatusRow(rs.getLong(1), rs.getString(2),
+                        OrderStatus.valueOf(rs.getString(3)), rs.getBigDecimal(4), rs.getString(5),
+                        rs.getTimestamp(6).toLocalDateTime()),
+                orderIds.toArray());
+    }
+
+    @Override
+    public List<OrderStatusRow> lockStalePending(Collection<Long> orderIds, LocalDateTime createdBefore) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(orderIds.size() + 3);
+        args.addAll(orderIds);
+        args.add(OrderStatus.PENDING.name());
+        args.add(Timestamp.valueOf(createdBefore));
+        args.add(now);
+        return jdbcTemplate.query(
+                "SELECT id, order_number, status, total_amount, customer_email, created_at FROM orders WHERE id IN ("
+                        + placeholders(orderIds) + ") AND status = ? AND created_at < ? "
+                        + "AND (lease_expires_at IS NULL OR lease_expires_at < ?) ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> new OrderStatusRow(rs.getLong(1), rs.getString(2),
+                        OrderStatus.valueOf(rs.getString(3)), rs.getBigDecimal(4), rs.getString(5),
+                        rs.getTimestamp(6).toLocalDateTime()),
+                args.toArray());
+    }
+
+    @Override
+    public int updateStatuses(Collection<Long> orderIds, OrderStatus status) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        List<Object> args = new ArrayList<>(orderIds.size() + 2);
+        args.add(status.name());
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(orderIds);
+        int updated = jdbcTemplate.update(
+                "UPDATE orders SET status = ?, updated_at = ? WHERE id IN (" + placeholders(orderIds) + ")",
+                args.toArray());
+
+        // Managed Order instances now hold a stale status
+        for (Long orderId : orderIds) {
+            entityManager.detach(entityManager.getReference(Order.class, orderId));
+        }
+        return updated;
+    }
+
+    @Override
+    public Map<Long, Integer> sumItemQuantities(Collection<Long> orderIds) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        if (orderIds.isEmpty()) {
+            return quantities;
+        }
+        jdbcTemplate.query("SELECT product_id, SUM(quantity) FROM order_items WHERE order_id IN ("
+                        + placeholders(orderIds) + ") GROUP BY product_id ORDER BY product_id",
+                rs -> {
+                    quantities.put(rs.getLong(1), rs.getInt(2));
+                }, orderIds.toArray());
+        return quantities;
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(",", Collections.nCopies(values.size(), "?"));
+    }
+}
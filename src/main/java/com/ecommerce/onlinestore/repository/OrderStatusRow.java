@@ -0,0 +1,13 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order columns needed for a status change, read without the entity and its items.
+ */
+public record OrderStatusRow(Long id, String orderNumber, OrderStatus status, BigDecimal totalAmount,
+                             String customerEmail, LocalDateTime createdAt) {
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Events of an order wait behind an earlier event of the same order that is backing off after a failure
+    @Query("SELECT e FROM OutboxEvent e WHERE e.nextAttemptAt <= :now AND NOT EXISTS ("
+            + "SELECT p.id FROM OutboxEvent p WHERE p.orderId = e.orderId AND p.id < e.id AND p.nextAttemptAt > :now) "
+            + "ORDER BY e.id")
+    List<OutboxEvent> findDispatchable(@Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+}
@@ -1,19 +1,26 @@
 package com.ecommerce.onlinestore.repository;
 
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.util.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockOperations {
 
     Page<Product> findByCategory(String category, Pageable pageable);
 
@@ -32,6 +39,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByStockQuantityGreaterThan(Integer quantity);
 
+    boolean existsByStockShardsGreaterThan(Integer shards);
+
     Optional<Product> findBySku(String sku);
 
     @Query("SELECT p FROM Product p WHERE p.stockQuantity > 0")
@@ -42,4 +51,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE p.id IN :productIds")
     List<Product> findByIdIn(@Param("productIds") List<Long> productIds);
+
+    @Query("SELECT p FROM Product p ORDER BY p.name ASC, p.id ASC")
+    List<Product> seekFirstByName(Limit limit);
+
+    @Query("SELECT p FROM Product p WHERE p.name > :name OR (p.name = :name AND p.id > :id) ORDER BY p.name ASC, p.id ASC")
+    List<Product> seekByNameAfter(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    // Must be consumed inside a transaction and closed; null filters are ignored
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE))
+    @Query("SELECT p FROM Product p WHERE (:category IS NULL OR p.category = :category) "
+            + "AND (:from IS NULL OR p.createdAt >= :from) AND (:to IS NULL OR p.createdAt < :to) ORDER BY p.id")
+    Stream<Product> streamForExport(@Param("category") String category,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
 }
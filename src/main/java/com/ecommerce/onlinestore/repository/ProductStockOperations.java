@@ -0,0 +1,42 @@
+package com.ecommerce.onlinestore.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductStockOperations {
+
+    /**
+     * Conditionally decrements stock for every entry in one JDBC batch.
+     * Returns the update count per entry, in map iteration order: 1 when the row had enough stock, 0 otherwise.
+     * Rows are locked in product id order whatever the map order.
+     * Products with sharded stock are decremented on one of their shards instead.
+     */
+    int[] decrementStock(Map<Long, Integer> quantitiesByProductId);
+
+    int[] incrementStock(Map<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Splits the product's stock evenly across {@code shards} counter rows.
+     * Until sharding is disabled, products.stock_quantity is only the last refreshed sum of the shards.
+     */
+    void enableStockShards(Long productId, int shards);
+
+    /**
+     * Moves the sum of the shards back into products.stock_quantity and deletes the shards.
+     */
+    void disableStockShards(Long productId);
+
+    /**
+     * Writes the current shard sum into stock_quantity of every sharded product where it differs.
+     * Returns the number of products updated.
+     */
+    int refreshShardedStockTotals();
+
+    List<Long> findProductsWithDrainedShards();
+
+    /**
+     * Spreads the product's sharded stock evenly across its shards again, leaving out shards locked by checkouts.
+     * Returns false when the product has no shards or all of them are locked.
+     */
+    boolean rebalanceStockShards(Long productId);
+}
@@ -0,0 +1,260 @@
+package com.ecommerce.onlinestore.repository;
+
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+class ProductStockOperationsImpl implements ProductStockOperations {
+
+    // Only run for unsharded products; the stock_shards check catches a product sharded in the meantime
+    private static final String DECREMENT_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, updated_at = ? "
+                    + "WHERE id = ? AND stock_quantity >= ? AND stock_shards = 0";
+
+    private static final String INCREMENT_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, updated_at = ? WHERE id = ? AND stock_shards = 0";
+
+    private static final String DECREMENT_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity - ? WHERE product_id = ? AND shard_no = ? AND quantity >= ?";
+
+    private static final String INCREMENT_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity + ? WHERE product_id = ? AND shard_no = ?";
+
+    private static final String REFRESH_SHARDED_TOTALS_SQL =
+            "UPDATE products SET stock_quantity = "
+                    + "(SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = products.id), "
+                    + "updated_at = ? "
+                    + "WHERE stock_shards > 0 AND stock_quantity <> "
+                    + "(SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = products.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    ProductStockOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] decrementStock(Map<Long, Integer> quantitiesByProductId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return updateStock(quantitiesByProductId, DECREMENT_SQL,
+                (productId, quantity) -> new Object[]{quantity, now, productId, quantity}, this::decrementShards);
+    }
+
+    @Override
+    public int[] incrementStock(Map<Long, Integer> quantitiesByProductId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return updateStock(quantitiesByProductId, INCREMENT_SQL,
+                (productId, quantity) -> new Object[]{quantity, now, productId}, this::incrementShard);
+    }
+
+    @Override
+    public void enableStockShards(Long productId, int shards) {
+        int total = foldShards(productId);
+        List<Object[]> rows = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            rows.add(new Object[]{productId, shard, share(total, shards, shard)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_stock_shards (product_id, shard_no, quantity) VALUES (?, ?, ?)",
+                rows);
+        jdbcTemplate.update("UPDATE products SET stock_shards = ?, stock_quantity = ?, updated_at = ? WHERE id = ?",
+                shards, total, Timestamp.valueOf(LocalDateTime.now()), productId);
+        detach(List.of(productId));
+    }
+
+    @Override
+    public void disableStockShards(Long productId) {
+        int total = foldShards(productId);
+        jdbcTemplate.update("UPDATE products SET stock_shards = 0, stock_quantity = ?, updated_at = ? WHERE id = ?",
+                total, Timestamp.valueOf(LocalDateTime.now()), productId);
+        detach(List.of(productId));
+    }
+
+    @Override
+    public int refreshShardedStockTotals() {
+        return jdbcTemplate.update(REFRESH_SHARDED_TOTALS_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public List<Long> findProductsWithDrainedShards() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT product_id FROM product_stock_shards WHERE quantity = 0", Long.class);
+    }
+
+    @Override
+    public boolean rebalanceStockShards(Long productId) {
+        // Background work never waits for checkouts
+        return rebalance(productId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs {@code sql} for the unsharded products and the shard operation for the sharded ones, both in product id
+     * order so that two checkouts of the same products in different cart order cannot deadlock. Sharded products
+     * never touch their products row: on InnoDB even an UPDATE whose WHERE does not match locks the row until
+     * commit, and every checkout of a hot SKU would queue on it.
+     */
+    private int[] updateStock(Map<Long, Integer> quantitiesByProductId, String sql,
+                              BiFunction<Long, Integer, Object[]> rowArgs, ShardOperation shardOperation) {
+        if (quantitiesByProductId.isEmpty()) {
+            return new int[0];
+        }
+
+        // Pending JPA writes must reach the connection before the statements run on it
+        entityManager.flush();
+        Map<Long, Integer> sorted = new TreeMap<>(quantitiesByProductId);
+        Map<Long, Integer> shardCounts = findShardCounts(sorted.keySet());
+        List<Long> unsharded = sorted.keySet().stream().filter(productId -> !shardCounts.containsKey(productId)).toList();
+
+        Map<Long, Integer> results = new HashMap<>();
+        if (!unsharded.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(sql, unsharded.stream()
+                    .map(productId -> rowArgs.apply(productId, sorted.get(productId)))
+                    .toList());
+            List<Long> missed = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                results.put(unsharded.get(i), counts[i]);
+                if (counts[i] != 1) {
+                    missed.add(unsharded.get(i));
+                }
+            }
+            // A product sharded after its mode was read misses on stock_shards = 0
+            if (!missed.isEmpty()) {
+                shardCounts.putAll(findShardCounts(missed));
+            }
+        }
+        new TreeMap<>(shardCounts).forEach((productId, shards) ->
+                results.put(productId, shardOperation.apply(productId, shards, sorted.get(productId))));
+
+        // Managed Product instances now hold a stale stock_quantity, detach them so later reads go to the database
+        detach(sorted.keySet());
+        return quantitiesByProductId.keySet().stream().mapToInt(results::get).toArray();
+    }
+
+    private Map<Long, Integer> findShardCounts(Collection<Long> productIds) {
+        String placeholders = String.join(",", Collections.nCopies(productIds.size(), "?"));
+        Map<Long, Integer> shardCounts = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock_shards FROM products WHERE stock_shards > 0 AND id IN (" + placeholders + ")",
+                rs -> {
+                    shardCounts.put(rs.getLong(1), rs.getInt(2));
+                }, productIds.toArray());
+        return shardCounts;
+    }
+
+    /**
+     * Takes the quantity from a shard that can cover it and is not locked by another checkout. When none can, the
+     * shards are drained, fragmented or busy: lock them all, check the total and spread what is left evenly again.
+     * <p>
+     * Shard locks are only ever waited for in shard_no order above every shard already held, so two checkouts
+     * cannot wait for each other. The candidates come from a plain read and each is locked on its own, which keeps
+     * a failed pick from holding shards it merely scanned.
+     */
+    private int decrementShards(Long productId, int shards, int quantity) {
+        List<Integer> candidates = jdbcTemplate.queryForList(
+                "SELECT shard_no FROM product_stock_shards WHERE product_id = ? AND quantity >= ? ORDER BY shard_no",
+                Integer.class, productId, quantity);
+        for (Integer shard : candidates) {
+            List<Integer> locked = jdbcTemplate.queryForList(
+                    "SELECT quantity FROM product_stock_shards WHERE product_id = ? AND shard_no = ? "
+                            + "FOR UPDATE SKIP LOCKED",
+                    Integer.class, productId, shard);
+            if (locked.isEmpty()) {
+                continue;
+            }
+            if (locked.get(0) >= quantity) {
+                return jdbcTemplate.update(DECREMENT_SHARD_SQL, quantity, productId, shard, quantity);
+            }
+            // Another checkout took from the shard since the read; it stays locked, so only wait above it
+            return rebalance(productId, quantity, shard) ? 1 : 0;
+        }
+        // Nothing held yet: waiting for every shard keeps those of running checkouts in the count, so their stock
+        // is never reported as a stock-out
+        return rebalance(productId, quantity, 0) ? 1 : 0;
+    }
+
+    private int incrementShard(Long productId, int shards, int quantity) {
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        return jdbcTemplate.update(INCREMENT_SHARD_SQL, quantity, productId, shard);
+    }
+
+    /**
+     * Spreads the stock of the product's shards evenly over them again, minus {@code take}. Shards from
+     * {@code waitFrom} on are locked in shard_no order, waiting for other transactions; lower ones are skipped when
+     * locked, as the caller may hold shard {@code waitFrom} and must not wait below it. Returns false when the
+     * locked shards do not cover {@code take}.
+     * Requires a surrounding transaction, otherwise the row locks end with the SELECT.
+     */
+    private boolean rebalance(Long productId, int take, int waitFrom) {
+        List<Integer> shardNumbers = new ArrayList<>();
+        int[] total = new int[1];
+        RowCallbackHandler collect = rs -> {
+            shardNumbers.add(rs.getInt(1));
+            total[0] += rs.getInt(2);
+        };
+        if (waitFrom > 0) {
+            jdbcTemplate.query("SELECT shard_no, quantity FROM product_stock_shards WHERE product_id = ? "
+                    + "AND shard_no < ? ORDER BY shard_no FOR UPDATE SKIP LOCKED", collect, productId, waitFrom);
+        }
+        if (waitFrom < Integer.MAX_VALUE) {
+            jdbcTemplate.query("SELECT shard_no, quantity FROM product_stock_shards WHERE product_id = ? "
+                    + "AND shard_no >= ? ORDER BY shard_no FOR UPDATE", collect, productId, waitFrom);
+        }
+        if (shardNumbers.isEmpty() || total[0] < take) {
+            return false;
+        }
+
+        int remaining = total[0] - take;
+        List<Object[]> args = new ArrayList<>(shardNumbers.size());
+        for (int i = 0; i < shardNumbers.size(); i++) {
+            args.add(new Object[]{share(remaining, shardNumbers.size(), i), productId, shardNumbers.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE product_stock_shards SET quantity = ? WHERE product_id = ? AND shard_no = ?",
+                args);
+        return true;
+    }
+
+    /**
+     * Locks the product row, moves the shard balances back into it and deletes the shards.
+     * Returns the product's total stock.
+     */
+    private int foldShards(Long productId) {
+        entityManager.flush();
+        List<Integer> stock = jdbcTemplate.queryForList(
+                "SELECT stock_quantity FROM products WHERE id = ? FOR UPDATE", Integer.class, productId);
+        if (stock.isEmpty()) {
+            throw new ProductNotFoundException(productId);
+        }
+        Integer sharded = jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM product_stock_shards WHERE product_id = ?", Integer.class, productId);
+        if (sharded == null) {
+            return stock.get(0);
+        }
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", productId);
+        return sharded;
+    }
+
+    private static int share(int total, int shards, int shard) {
+        return total / shards + (shard < total % shards ? 1 : 0);
+    }
+
+    private void detach(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            entityManager.detach(entityManager.getReference(Product.class, productId));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardOperation {
+        int apply(Long productId, int shards, int quantity);
+    }
+}
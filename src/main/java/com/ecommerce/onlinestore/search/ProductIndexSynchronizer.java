@@ -0,0 +1,120 @@
+package com.ecommerce.onlinestore.search;
+
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds {@link ProductSearchIndex} at startup and keeps it in sync with product writes
+ * through Hibernate post-insert/update/delete events. Writes of a rolled back transaction
+ * are marked stale so the next search re-reads them from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductIndexSynchronizer implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        searchIndex.clear();
+        PageRequest pageRequest = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+        Page<Product> page;
+        do {
+            page = productRepository.findAll(pageRequest);
+            page.getContent().forEach(searchIndex::index);
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+
+        searchIndex.markReady();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            searchIndex.index(product);
+            trackForRollback(product.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            searchIndex.index(product);
+            trackForRollback(product.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Product) {
+            Long id = (Long) event.getId();
+            searchIndex.remove(id);
+            trackForRollback(id);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void trackForRollback(Long productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> touched = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (touched == null) {
+            Set<Long> ids = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProductIndexSynchronizer.this);
+                    if (status != STATUS_COMMITTED) {
+                        log.debug("Marking {} products stale in search index after rollback", ids.size());
+                        searchIndex.markStale(ids);
+                    }
+                }
+            });
+            touched = ids;
+        }
+        touched.add(productId);
+    }
+}
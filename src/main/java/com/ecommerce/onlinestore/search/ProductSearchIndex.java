@@ -0,0 +1,253 @@
+package com.ecommerce.onlinestore.search;
+
+import com.ecommerce.onlinestore.model.entity.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name and description.
+ * Terms are kept in a sorted dictionary so a query token matches every term it is a prefix of,
+ * posting lists are sorted primitive arrays of product ids.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final NavigableMap<String, PostingList> terms = new TreeMap<>();
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+    private final Set<Long> staleIds = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    public void index(Product product) {
+        String[] tokens = tokenize(product.getName(), product.getDescription());
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            for (String token : tokens) {
+                terms.computeIfAbsent(token, t -> new PostingList()).add(product.getId());
+            }
+            documentTerms.put(product.getId(), tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            terms.clear();
+            documentTerms.clear();
+            staleIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markReady() {
+        ready = true;
+        log.info("Product search index built: {} products, {} terms", size(), termCount());
+    }
+
+    /**
+     * Returns the ids of products containing every token of the query (as a term prefix),
+     * in ascending id order.
+     */
+    public long[] search(String query) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] result = null;
+            for (String token : tokens) {
+                long[] matches = prefixMatches(token);
+                result = result == null ? matches : intersect(result, matches);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks products whose indexed state may no longer match the database,
+     * e.g. writes from a transaction that was rolled back.
+     */
+    public void markStale(Collection<Long> productIds) {
+        staleIds.addAll(productIds);
+    }
+
+    public Set<Long> drainStale() {
+        if (staleIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> drained = new HashSet<>();
+        for (Iterator<Long> it = staleIds.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String[] tokenize(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (letterOrDigit && start < 0) {
+                    start = i;
+                } else if (!letterOrDigit && start >= 0) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                    start = -1;
+                }
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private void removeInternal(Long productId) {
+        String[] previous = documentTerms.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous) {
+            PostingList postings = terms.get(token);
+            if (postings != null && postings.remove(productId) && postings.size == 0) {
+                terms.remove(token);
+            }
+        }
+    }
+
+    private long[] prefixMatches(String prefix) {
+        Collection<PostingList> lists = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.iterator().next().toArray();
+        }
+
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (PostingList list : lists) {
+            System.arraycopy(list.ids, 0, merged, offset, list.size);
+            offset += list.size;
+        }
+        Arrays.sort(merged);
+
+        int unique = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[unique - 1]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, unique);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.ecommerce.onlinestore.service;
 
 import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
 import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.CartItemOperation;
 import com.ecommerce.onlinestore.model.dto.UpdateCartItemRequest;
 
+import java.util.List;
+
 public interface CartService {
 
     CartDTO createCart(String sessionId);
@@ -18,6 +21,8 @@ public interface CartService {
 
     CartDTO removeItemFromCart(Long cartId, Long itemId);
 
+    CartDTO applyItemOperations(Long cartId, List<CartItemOperation> operations);
+
     void clearCart(Long cartId);
 
     void deleteCart(Long cartId);
@@ -0,0 +1,7 @@
+package com.ecommerce.onlinestore.service;
+
+/**
+ * Outcome of expiring one chunk of stale orders: how many were cancelled and how many stock units they returned.
+ */
+public record ExpiredOrders(int cancelled, long unitsReleased) {
+}
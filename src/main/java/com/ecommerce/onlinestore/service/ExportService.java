@@ -0,0 +1,28 @@
+package com.ecommerce.onlinestore.service;
+
+import com.ecommerce.onlinestore.model.enums.ExportFormat;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Streams orders and products to an output stream row by row. Memory use does not depend on the number
+ * of rows exported. Null filters are ignored, {@code from} and {@code to} are inclusive creation days.
+ */
+public interface ExportService {
+
+    /**
+     * In CSV, orders with items have one line per item with the order columns repeated.
+     * Returns the number of orders written.
+     */
+    long exportOrders(ExportFormat format, OrderStatus status, LocalDate from, LocalDate to, boolean includeItems,
+                      OutputStream out) throws IOException;
+
+    /**
+     * Returns the number of products written.
+     */
+    long exportProducts(ExportFormat format, String category, LocalDate from, LocalDate to,
+                        OutputStream out) throws IOException;
+}
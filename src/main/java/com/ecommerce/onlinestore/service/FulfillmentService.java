@@ -0,0 +1,26 @@
+package com.ecommerce.onlinestore.service;
+
+import com.ecommerce.onlinestore.model.dto.FulfillmentClaimDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+/**
+ * Work queue over the orders waiting for fulfillment. A worker claims a batch of orders under a lease,
+ * renews the lease while it works and completes or releases every order. Orders of a worker that stops
+ * renewing become claimable again once the lease expires.
+ */
+public interface FulfillmentService {
+
+    FulfillmentClaimDTO claimOrders(String workerId, int maxOrders);
+
+    FulfillmentClaimDTO renewLease(String claimToken);
+
+    /**
+     * Moves a claimed order to {@code status} and ends its claim.
+     *
+     * @throws com.ecommerce.onlinestore.model.exception.ClaimNotHeldException when the claim lost the order
+     */
+    OrderDTO completeOrder(String claimToken, Long orderId, OrderStatus status);
+
+    void releaseOrder(String claimToken, Long orderId);
+}
@@ -1,21 +1,37 @@
 package com.ecommerce.onlinestore.service;
 
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionDTO;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionRequest;
 import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.CursorPageDTO;
 import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderPlacementDTO;
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface OrderService {
 
     OrderDTO createOrder(CreateOrderRequest request);
 
+    /**
+     * Places several orders in one transaction. Requests that fail validation are rejected individually,
+     * the results are in request order. Throws when the stock update of the batch fails as a whole.
+     */
+    List<OrderPlacementDTO> createOrders(List<CreateOrderRequest> requests);
+
     OrderDTO getOrderById(Long orderId);
 
     OrderDTO getOrderByNumber(String orderNumber);
 
     Page<OrderDTO> getAllOrders(Pageable pageable);
 
+    CursorPageDTO<OrderDTO> getOrdersAfter(String cursor, int size);
+
     Page<OrderDTO> getOrdersByStatus(OrderStatus status, Pageable pageable);
 
     Page<OrderDTO> getOrdersByCustomerEmail(String email, Pageable pageable);
@@ -24,5 +40,17 @@ public interface OrderService {
 
     OrderDTO cancelOrder(Long orderId);
 
+    /**
+     * Moves the selected orders to the target status with set-based updates, in chunks with one transaction each.
+     * Invalid transitions and unknown ids are reported per order, they do not fail the request.
+     */
+    BulkStatusTransitionDTO transitionOrders(BulkStatusTransitionRequest request);
+
+    /**
+     * Cancels those of the given orders still PENDING and created before {@code createdBefore}, in one transaction.
+     * Their stock is restored with one update per product.
+     */
+    ExpiredOrders expireStaleOrders(Collection<Long> orderIds, LocalDateTime createdBefore);
+
     void deleteOrder(Long orderId);
 }
@@ -1,5 +1,6 @@
 package com.ecommerce.onlinestore.service;
 
+import com.ecommerce.onlinestore.model.dto.CursorPageDTO;
 import com.ecommerce.onlinestore.model.dto.ProductDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,8 @@ public interface ProductService {
 
     Page<ProductDTO> getAllProducts(Pageable pageable);
 
+    CursorPageDTO<ProductDTO> getProductsAfter(String cursor, int size);
+
     ProductDTO getProductById(Long id);
 
     Page<ProductDTO> getProductsByCategory(String category, Pageable pageable);
@@ -26,4 +29,8 @@ public interface ProductService {
     Page<ProductDTO> getAvailableProducts(Pageable pageable);
 
     ProductDTO getProductBySku(String sku);
+
+    ProductDTO enableStockSharding(Long id, int shards);
+
+    ProductDTO disableStockSharding(Long id);
 }
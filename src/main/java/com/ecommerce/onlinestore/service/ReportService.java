@@ -0,0 +1,25 @@
+package com.ecommerce.onlinestore.service;
+
+import com.ecommerce.onlinestore.model.dto.OrderReportDTO;
+import com.ecommerce.onlinestore.model.dto.ProductSalesDTO;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reporting over the pre-aggregated order rollups. Days are the order creation dates, the status is the current one.
+ */
+public interface ReportService {
+
+    OrderReportDTO getOrderReport(OrderStatus status);
+
+    OrderReportDTO getOrderReport(OrderStatus status, LocalDate from, LocalDate to);
+
+    /**
+     * Products by units in orders that were not cancelled, best selling first.
+     */
+    List<ProductSalesDTO> getTopSellingProducts(int limit);
+
+    void rebuildRollups();
+}
@@ -1,15 +1,21 @@
 package com.ecommerce.onlinestore.service.impl;
 
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.inventory.InventoryReservations;
 import com.ecommerce.onlinestore.mapper.CartMapper;
+import com.ecommerce.onlinestore.metrics.StoreMetrics;
+import com.ecommerce.onlinestore.metrics.StoreMetrics.StockOutStage;
 import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
 import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.CartItemOperation;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
 import com.ecommerce.onlinestore.model.dto.UpdateCartItemRequest;
 import com.ecommerce.onlinestore.model.entity.Cart;
 import com.ecommerce.onlinestore.model.entity.CartItem;
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
 import com.ecommerce.onlinestore.model.exception.CartNotFoundException;
 import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
-import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
 import com.ecommerce.onlinestore.repository.CartRepository;
 import com.ecommerce.onlinestore.repository.ProductRepository;
 import com.ecommerce.onlinestore.service.CartService;
@@ -19,6 +25,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -28,6 +41,9 @@ public class CartServiceImpl implements CartService {
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
     private final CartMapper cartMapper;
+    private final ProductCache productCache;
+    private final InventoryReservations inventoryReservations;
+    private final StoreMetrics storeMetrics;
 
     @Override
     public CartDTO createCart(String sessionId) {
@@ -38,6 +54,7 @@ public class CartServiceImpl implements CartService {
                 .build();
 
         Cart savedCart = cartRepository.save(cart);
+        storeMetrics.cartCreated();
         log.info("Created new cart with id: {} for session: {}", savedCart.getId(), sessionId);
 
         return cartMapper.toDTO(savedCart);
@@ -73,34 +90,31 @@ public class CartServiceImpl implements CartService {
         Cart cart = cartRepository.findByIdWithItems(cartId)
                 .orElseThrow(() -> new CartNotFoundException(cartId));
 
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException(request.getProductId()));
+        ProductDTO product = productCache.getById(request.getProductId());
 
-        validateStockAvailability(product, request.getQuantity());
+        validateStockAvailability(product.getName(), product.getStockQuantity(), request.getQuantity());
 
         // Check if item already exists in cart
-        CartItem existingItem = cart.getItems().stream()
-                .filter(item -> item.getProduct().getId().equals(product.getId()))
-                .findFirst()
-                .orElse(null);
+        CartItem existingItem = cart.findItemByProductId(product.getId()).orElse(null);
 
         if (existingItem != null) {
             // Update existing item quantity
             int newQuantity = existingItem.getQuantity() + request.getQuantity();
             validateMaxQuantity(newQuantity);
-            existingItem.setQuantity(newQuantity);
+            hold(cartId, product.getId(), product.getName(), newQuantity, product.getStockQuantity());
+            cart.changeItemQuantity(existingItem, newQuantity);
         } else {
+            hold(cartId, product.getId(), product.getName(), request.getQuantity(), product.getStockQuantity());
             // Create new cart item
             CartItem newItem = CartItem.builder()
                     .cart(cart)
-                    .product(product)
+                    .product(productRepository.getReferenceById(product.getId()))
                     .quantity(request.getQuantity())
                     .unitPrice(product.getPrice())
                     .build();
             cart.addItem(newItem);
         }
 
-        cart.calculateTotals();
         Cart savedCart = cartRepository.save(cart);
         log.info("Added product {} to cart {}", product.getId(), cartId);
 
@@ -114,16 +128,14 @@ public class CartServiceImpl implements CartService {
         Cart cart = cartRepository.findByIdWithItems(cartId)
                 .orElseThrow(() -> new CartNotFoundException(cartId));
 
-        CartItem cartItem = cart.getItems().stream()
-                .filter(item -> item.getId().equals(itemId))
-                .findFirst()
+        CartItem cartItem = cart.findItemById(itemId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found with id: " + itemId));
 
         validateMaxQuantity(request.getQuantity());
         validateStockAvailability(cartItem.getProduct(), request.getQuantity());
+        hold(cartId, cartItem.getProduct(), request.getQuantity());
 
-        cartItem.setQuantity(request.getQuantity());
-        cart.calculateTotals();
+        cart.changeItemQuantity(cartItem, request.getQuantity());
 
         Cart savedCart = cartRepository.save(cart);
         log.info("Updated cart item {} in cart {} to quantity {}", itemId, cartId, request.getQuantity());
@@ -138,11 +150,10 @@ public class CartServiceImpl implements CartService {
         Cart cart = cartRepository.findByIdWithItems(cartId)
                 .orElseThrow(() -> new CartNotFoundException(cartId));
 
-        CartItem cartItem = cart.getItems().stream()
-                .filter(item -> item.getId().equals(itemId))
-                .findFirst()
+        CartItem cartItem = cart.findItemById(itemId)
                 .orElseThrow(() -> new RuntimeException("Cart item not found with id: " + itemId));
 
+        inventoryReservations.release(cartId, cartItem.getProduct().getId());
         cart.removeItem(cartItem);
         Cart savedCart = cartRepository.save(cart);
         log.info("Removed cart item {} from cart {}", itemId, cartId);
@@ -150,6 +161,46 @@ public class CartServiceImpl implements CartService {
         return cartMapper.toDTO(savedCart);
     }
 
+    @Override
+    public CartDTO applyItemOperations(Long cartId, List<CartItemOperation> operations) {
+        log.debug("Applying {} item operations to cart: {}", operations.size(), cartId);
+
+        Cart cart = cartRepository.findByIdWithItems(cartId)
+                .orElseThrow(() -> new CartNotFoundException(cartId));
+
+        // Все товары, которых касаются операции, загружаем одним запросом
+        Set<Long> productIds = new HashSet<>();
+        for (CartItemOperation operation : operations) {
+            if (operation.getProductId() != null) {
+                productIds.add(operation.getProductId());
+            }
+            if (operation.getItemId() != null) {
+                cart.findItemById(operation.getItemId())
+                        .ifPresent(item -> productIds.add(item.getProduct().getId()));
+            }
+        }
+        Map<Long, Product> products = productIds.isEmpty() ? Map.of()
+                : productRepository.findByIdIn(List.copyOf(productIds)).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (CartItemOperation operation : operations) {
+            switch (operation.getOp()) {
+                case ADD -> applyAdd(cart, operation, products);
+                case UPDATE -> applyUpdate(cart, operation, products);
+                case REMOVE -> {
+                    CartItem cartItem = findOperationItem(cart, operation);
+                    inventoryReservations.release(cartId, cartItem.getProduct().getId());
+                    cart.removeItem(cartItem);
+                }
+            }
+        }
+
+        Cart savedCart = cartRepository.save(cart);
+        log.info("Applied {} item operations to cart {}", operations.size(), cartId);
+
+        return cartMapper.toDTO(savedCart);
+    }
+
     @Override
     public void clearCart(Long cartId) {
         log.debug("Clearing cart: {}", cartId);
@@ -157,6 +208,7 @@ public class CartServiceImpl implements CartService {
         Cart cart = cartRepository.findByIdWithItems(cartId)
                 .orElseThrow(() -> new CartNotFoundException(cartId));
 
+        inventoryReservations.releaseAll(cartId, productIds(cart));
         cart.clear();
         cartRepository.save(cart);
         log.info("Cleared cart {}", cartId);
@@ -166,11 +218,11 @@ public class CartServiceImpl implements CartService {
     public void deleteCart(Long cartId) {
         log.debug("Deleting cart: {}", cartId);
 
-        if (!cartRepository.existsById(cartId)) {
-            throw new CartNotFoundException(cartId);
-        }
+        Cart cart = cartRepository.findByIdWithItems(cartId)
+                .orElseThrow(() -> new CartNotFoundException(cartId));
 
-        cartRepository.deleteById(cartId);
+        inventoryReservations.releaseAll(cartId, productIds(cart));
+        cartRepository.delete(cart);
         log.info("Deleted cart {}", cartId);
     }
 
@@ -184,19 +236,22 @@ public class CartServiceImpl implements CartService {
         Cart targetCart = cartRepository.findByIdWithItems(targetCartId)
                 .orElseThrow(() -> new CartNotFoundException(targetCartId));
 
+        // Units held by the source cart already belong to this shopper: release them before the target cart
+        // takes them over, a failed merge restores them when the transaction rolls back
+        inventoryReservations.releaseAll(sourceCartId, productIds(sourceCart));
+
         // Merge items from source cart to target cart
         for (CartItem sourceItem : sourceCart.getItems()) {
-            CartItem existingItem = targetCart.getItems().stream()
-                    .filter(item -> item.getProduct().getId().equals(sourceItem.getProduct().getId()))
-                    .findFirst()
-                    .orElse(null);
+            CartItem existingItem = targetCart.findItemByProductId(sourceItem.getProduct().getId()).orElse(null);
 
             if (existingItem != null) {
                 int newQuantity = existingItem.getQuantity() + sourceItem.getQuantity();
                 validateMaxQuantity(newQuantity);
                 validateStockAvailability(sourceItem.getProduct(), newQuantity);
-                existingItem.setQuantity(newQuantity);
+                hold(targetCartId, sourceItem.getProduct(), newQuantity);
+                targetCart.changeItemQuantity(existingItem, newQuantity);
             } else {
+                hold(targetCartId, sourceItem.getProduct(), sourceItem.getQuantity());
                 CartItem newItem = CartItem.builder()
                         .cart(targetCart)
                         .product(sourceItem.getProduct())
@@ -207,7 +262,6 @@ public class CartServiceImpl implements CartService {
             }
         }
 
-        targetCart.calculateTotals();
         Cart savedCart = cartRepository.save(targetCart);
 
         // Delete source cart after merge
@@ -217,10 +271,89 @@ public class CartServiceImpl implements CartService {
         return cartMapper.toDTO(savedCart);
     }
 
+    private void applyAdd(Cart cart, CartItemOperation operation, Map<Long, Product> products) {
+        if (operation.getProductId() == null || operation.getQuantity() == null) {
+            throw new BusinessException("ADD operation requires productId and quantity");
+        }
+        Product product = products.get(operation.getProductId());
+        if (product == null) {
+            // A 400 like the other invalid operations: the id comes from the request body, not the URL
+            throw new BusinessException("Product not found with id: " + operation.getProductId());
+        }
+
+        CartItem existingItem = cart.findItemByProductId(product.getId()).orElse(null);
+        if (existingItem != null) {
+            int newQuantity = existingItem.getQuantity() + operation.getQuantity();
+            validateMaxQuantity(newQuantity);
+            validateStockAvailability(product, newQuantity);
+            hold(cart.getId(), product, newQuantity);
+            cart.changeItemQuantity(existingItem, newQuantity);
+        } else {
+            validateMaxQuantity(operation.getQuantity());
+            validateStockAvailability(product, operation.getQuantity());
+            hold(cart.getId(), product, operation.getQuantity());
+            cart.addItem(CartItem.builder()
+                    .cart(cart)
+                    .product(product)
+                    .quantity(operation.getQuantity())
+                    .unitPrice(product.getPrice())
+                    .build());
+        }
+    }
+
+    private void applyUpdate(Cart cart, CartItemOperation operation, Map<Long, Product> products) {
+        if (operation.getQuantity() == null) {
+            throw new BusinessException("UPDATE operation requires quantity");
+        }
+        CartItem cartItem = findOperationItem(cart, operation);
+        Product product = products.getOrDefault(cartItem.getProduct().getId(), cartItem.getProduct());
+
+        validateMaxQuantity(operation.getQuantity());
+        validateStockAvailability(product, operation.getQuantity());
+        hold(cart.getId(), product, operation.getQuantity());
+        cart.changeItemQuantity(cartItem, operation.getQuantity());
+    }
+
+    private CartItem findOperationItem(Cart cart, CartItemOperation operation) {
+        if (operation.getItemId() != null) {
+            return cart.findItemById(operation.getItemId())
+                    .orElseThrow(() -> new BusinessException("Cart item not found with id: " + operation.getItemId()));
+        }
+        if (operation.getProductId() != null) {
+            return cart.findItemByProductId(operation.getProductId())
+                    .orElseThrow(() -> new BusinessException(
+                            "Cart has no item for product: " + operation.getProductId()));
+        }
+        throw new BusinessException(operation.getOp() + " operation requires itemId or productId");
+    }
+
+    private void hold(Long cartId, Product product, int quantity) {
+        hold(cartId, product.getId(), product.getName(), quantity, product.getStockQuantity());
+    }
+
+    private void hold(Long cartId, Long productId, String productName, int quantity, int stockQuantity) {
+        try {
+            inventoryReservations.hold(cartId, productId, productName, quantity, stockQuantity);
+        } catch (InsufficientStockException e) {
+            storeMetrics.stockOut(StockOutStage.CART);
+            throw e;
+        }
+    }
+
+    private static List<Long> productIds(Cart cart) {
+        return cart.getItems().stream()
+                .map(item -> item.getProduct().getId())
+                .toList();
+    }
+
     private void validateStockAvailability(Product product, Integer requestedQuantity) {
-        if (product.getStockQuantity() < requestedQuantity) {
-            throw new InsufficientStockException(
-                    product.getName(), requestedQuantity, product.getStockQuantity());
+        validateStockAvailability(product.getName(), product.getStockQuantity(), requestedQuantity);
+    }
+
+    private void validateStockAvailability(String productName, Integer availableQuantity, Integer requestedQuantity) {
+        if (availableQuantity < requestedQuantity) {
+            storeMetrics.stockOut(StockOutStage.CART);
+            throw new InsufficientStockException(productName, requestedQuantity, availableQuantity);
         }
     }
 
@@ -0,0 +1,230 @@
+package com.ecommerce.onlinestore.service.impl;
+
+import com.ecommerce.onlinestore.mapper.OrderMapper;
+import com.ecommerce.onlinestore.mapper.ProductMapper;
+import com.ecommerce.onlinestore.model.dto.AddressDTO;
+import com.ecommerce.onlinestore.model.dto.CustomerInfoDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderItemDTO;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.OrderItem;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.ExportFormat;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.repository.OrderItemRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.ExportService;
+import com.ecommerce.onlinestore.util.Constants;
+import com.ecommerce.onlinestore.util.CsvWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private static final String[] ORDER_COLUMNS = {"id", "order_number", "status", "total_amount",
+            "customer_name", "customer_email", "shipping_city", "shipping_country", "created_at", "updated_at"};
+
+    private static final String[] ITEM_COLUMNS = {"item_product_id", "item_product_name", "item_unit_price",
+            "item_quantity", "item_total_price"};
+
+    private static final String[] PRODUCT_COLUMNS = {"id", "sku", "name", "category", "price", "stock_quantity",
+            "created_at", "updated_at"};
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final OrderMapper orderMapper;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long exportOrders(ExportFormat format, OrderStatus status, LocalDate from, LocalDate to,
+                             boolean includeItems, OutputStream out) throws IOException {
+        log.debug("Exporting orders as {} with status {} from {} to {}", format, status, from, to);
+        validateRange(from, to);
+
+        Writer writer = writer(out);
+        CsvWriter csv = new CsvWriter(writer);
+        if (format == ExportFormat.CSV) {
+            csv.writeRow(includeItems ? concat(ORDER_COLUMNS, ITEM_COLUMNS) : ORDER_COLUMNS);
+        }
+
+        long exported = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(status, startOf(from), endOf(to))) {
+            Iterator<Order> iterator = orders.iterator();
+            List<Order> chunk = new ArrayList<>(Constants.EXPORT_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == Constants.EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (OrderDTO order : toDTOs(chunk, includeItems)) {
+                        writeOrder(format, order, includeItems, writer, csv);
+                    }
+                    exported += chunk.size();
+                    endChunk(chunk, writer);
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} orders as {}", exported, format);
+        return exported;
+    }
+
+    @Override
+    public long exportProducts(ExportFormat format, String category, LocalDate from, LocalDate to,
+                               OutputStream out) throws IOException {
+        log.debug("Exporting products as {} in category {} from {} to {}", format, category, from, to);
+        validateRange(from, to);
+
+        Writer writer = writer(out);
+        CsvWriter csv = new CsvWriter(writer);
+        if (format == ExportFormat.CSV) {
+            csv.writeRow((Object[]) PRODUCT_COLUMNS);
+        }
+
+        long exported = 0;
+        try (Stream<Product> products = productRepository.streamForExport(category, startOf(from), endOf(to))) {
+            Iterator<Product> iterator = products.iterator();
+            List<Product> chunk = new ArrayList<>(Constants.EXPORT_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                chunk.add(product);
+                ProductDTO dto = productMapper.toDTO(product);
+                if (format == ExportFormat.CSV) {
+                    csv.writeRow(dto.getId(), dto.getSku(), dto.getName(), dto.getCategory(), dto.getPrice(),
+                            dto.getStockQuantity(), dto.getCreatedAt(), dto.getUpdatedAt());
+                } else {
+                    writeJsonLine(writer, dto);
+                }
+                exported++;
+                if (chunk.size() == Constants.EXPORT_CHUNK_SIZE) {
+                    endChunk(chunk, writer);
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} products as {}", exported, format);
+        return exported;
+    }
+
+    // Items of the whole chunk with one IN query, like the paged order listings. It runs on the connection the
+    // order stream is still reading from: fine with a server-side cursor, but a MySQL streaming result set
+    // (fetch size Integer.MIN_VALUE) would reject it
+    private List<OrderDTO> toDTOs(List<Order> orders, boolean includeItems) {
+        Map<Long, List<OrderItem>> itemsByOrderId = includeItems
+                ? orderItemRepository.findByOrderIdIn(orders.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()))
+                : Map.of();
+
+        List<OrderDTO> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderDTO dto = orderMapper.toDTOWithoutItems(order);
+            dto.setOrderItems(includeItems
+                    ? itemsByOrderId.getOrDefault(order.getId(), List.of()).stream()
+                    .map(orderMapper::itemToDTO)
+                    .collect(Collectors.toCollection(ArrayList::new))
+                    : null);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private void writeOrder(ExportFormat format, OrderDTO order, boolean includeItems, Writer writer,
+                            CsvWriter csv) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writeJsonLine(writer, order);
+            return;
+        }
+        Object[] orderValues = orderValues(order);
+        if (!includeItems) {
+            csv.writeRow(orderValues);
+            return;
+        }
+        if (order.getOrderItems().isEmpty()) {
+            csv.writeRow(concat(orderValues, new Object[ITEM_COLUMNS.length]));
+        }
+        for (OrderItemDTO item : order.getOrderItems()) {
+            csv.writeRow(concat(orderValues, new Object[]{item.getProductId(), item.getProductName(),
+                    item.getUnitPrice(), item.getQuantity(), item.getTotalPrice()}));
+        }
+    }
+
+    private static Object[] orderValues(OrderDTO order) {
+        CustomerInfoDTO customer = order.getCustomerInfo();
+        AddressDTO address = order.getShippingAddress();
+        return new Object[]{order.getId(), order.getOrderNumber(), order.getStatus(), order.getTotalAmount(),
+                customer != null ? customer.getCustomerName() : null,
+                customer != null ? customer.getCustomerEmail() : null,
+                address != null ? address.getCity() : null,
+                address != null ? address.getCountry() : null,
+                order.getCreatedAt(), order.getUpdatedAt()};
+    }
+
+    private void writeJsonLine(Writer writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    // Written rows go to the client and their entities leave the persistence context, so neither grows with the export
+    private void endChunk(List<?> chunk, Writer writer) throws IOException {
+        chunk.clear();
+        entityManager.clear();
+        writer.flush();
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("Export start date must not be after its end date");
+        }
+    }
+
+    private static LocalDateTime startOf(LocalDate day) {
+        return day != null ? day.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime endOf(LocalDate day) {
+        return day != null ? day.plusDays(1).atStartOfDay() : null;
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        Object[] result = new Object[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+package com.ecommerce.onlinestore.service.impl;
+
+import com.ecommerce.onlinestore.config.FulfillmentProperties;
+import com.ecommerce.onlinestore.mapper.OrderMapper;
+import com.ecommerce.onlinestore.model.dto.FulfillmentClaimDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.OrderItem;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.model.exception.ClaimNotHeldException;
+import com.ecommerce.onlinestore.model.exception.OrderNotFoundException;
+import com.ecommerce.onlinestore.outbox.OrderOutbox;
+import com.ecommerce.onlinestore.reporting.OrderRollups;
+import com.ecommerce.onlinestore.repository.ClaimedOrders;
+import com.ecommerce.onlinestore.repository.OrderItemRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.OrderStatusRow;
+import com.ecommerce.onlinestore.service.FulfillmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FulfillmentServiceImpl implements FulfillmentService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderMapper orderMapper;
+    private final OrderOutbox orderOutbox;
+    private final OrderRollups orderRollups;
+    private final FulfillmentProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public FulfillmentClaimDTO claimOrders(String workerId, int maxOrders) {
+        log.debug("Worker {} claiming up to {} orders", workerId, maxOrders);
+
+        if (workerId == null || workerId.isBlank()) {
+            throw new BusinessException("Worker id is required");
+        }
+        int max = Math.max(1, Math.min(maxOrders, properties.getMaxClaimSize()));
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime leaseExpiresAt = LocalDateTime.now().plus(properties.getLeaseDuration());
+
+        ClaimedOrders claimed = orderRepository.claim(properties.getClaimableStatuses(), claimToken, workerId,
+                leaseExpiresAt, max);
+        meterRegistry.counter("fulfillment.claims.orders").increment(claimed.orderIds().size());
+        if (claimed.reclaimed() > 0) {
+            log.warn("Worker {} reclaimed {} orders with an expired lease", workerId, claimed.reclaimed());
+            meterRegistry.counter("fulfillment.claims.reclaimed").increment(claimed.reclaimed());
+        }
+
+        log.info("Worker {} claimed {} orders", workerId, claimed.orderIds().size());
+        return FulfillmentClaimDTO.builder()
+                .claimToken(claimToken)
+                .workerId(workerId)
+                .leaseExpiresAt(leaseExpiresAt)
+                .orders(toDTOsWithItems(claimed.orderIds()))
+                .build();
+    }
+
+    @Override
+    public FulfillmentClaimDTO renewLease(String claimToken) {
+        log.debug("Renewing lease of claim {}", claimToken);
+
+        LocalDateTime leaseExpiresAt = LocalDateTime.now().plus(properties.getLeaseDuration());
+        if (orderRepository.renewLease(claimToken, leaseExpiresAt) == 0) {
+            throw new ClaimNotHeldException(claimToken);
+        }
+        return FulfillmentClaimDTO.builder()
+                .claimToken(claimToken)
+                .leaseExpiresAt(leaseExpiresAt)
+                .build();
+    }
+
+    @Override
+    public OrderDTO completeOrder(String claimToken, Long orderId, OrderStatus status) {
+        log.debug("Completing order {} of claim {} with status {}", orderId, claimToken, status);
+
+        // Отмена идет через cancelOrder, она возвращает товар на склад
+        if (status == OrderStatus.CANCELLED) {
+            throw new BusinessException("Claimed orders are cancelled through the cancel endpoint");
+        }
+        OrderStatusRow row = orderRepository.lockClaimed(orderId, claimToken)
+                .orElseThrow(() -> new ClaimNotHeldException(claimToken));
+        if (!row.status().canTransitionTo(status)) {
+            throw new BusinessException("Cannot change order status from " + row.status() + " to " + status);
+        }
+
+        orderRepository.updateStatuses(List.of(orderId), status);
+        orderRepository.releaseClaim(orderId, claimToken);
+        orderOutbox.appendStatusChanges(OrderEventType.ORDER_STATUS_CHANGED, List.of(row), status);
+        orderRollups.recordStatusChanges(List.of(row), status);
+
+        log.info("Completed order {} with status {}", orderId, status);
+        return orderRepository.findByIdWithItems(orderId)
+                .map(orderMapper::toDTO)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    @Override
+    public void releaseOrder(String claimToken, Long orderId) {
+        log.debug("Releasing order {} of claim {}", orderId, claimToken);
+
+        if (orderRepository.releaseClaim(orderId, claimToken) == 0) {
+            throw new ClaimNotHeldException(claimToken);
+        }
+        log.info("Released order {}", orderId);
+    }
+
+    // Items of all claimed orders with one IN query
+    private List<OrderDTO> toDTOsWithItems(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+
+        List<OrderDTO> dtos = new ArrayList<>(orderIds.size());
+        for (Order order : orderRepository.findAllById(orderIds).stream()
+                .sorted(Comparator.comparing(Order::getId))
+                .toList()) {
+            OrderDTO dto = orderMapper.toDTOWithoutItems(order);
+            dto.setOrderItems(itemsByOrderId.getOrDefault(order.getId(), List.of()).stream()
+                    .map(orderMapper::itemToDTO)
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
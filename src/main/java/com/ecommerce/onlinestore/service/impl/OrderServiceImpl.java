@@ -1,28 +1,59 @@
 package com.ecommerce.onlinestore.service.impl;
 
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.inventory.InventoryReservations;
 import com.ecommerce.onlinestore.mapper.OrderMapper;
+import com.ecommerce.onlinestore.metrics.StoreMetrics;
+import com.ecommerce.onlinestore.metrics.StoreMetrics.StockOutStage;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionDTO;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionRequest;
 import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.CursorPageDTO;
 import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderPlacementDTO;
+import com.ecommerce.onlinestore.model.dto.OrderTransitionResultDTO;
 import com.ecommerce.onlinestore.model.entity.*;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderPlacementStatus;
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.enums.StatusTransitionOutcome;
 import com.ecommerce.onlinestore.model.exception.BusinessException;
 import com.ecommerce.onlinestore.model.exception.CartNotFoundException;
 import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
 import com.ecommerce.onlinestore.model.exception.OrderNotFoundException;
+import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
+import com.ecommerce.onlinestore.outbox.OrderOutbox;
+import com.ecommerce.onlinestore.reporting.OrderRollups;
 import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderItemRepository;
 import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.OrderStatusRow;
 import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.ExpiredOrders;
 import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.Constants;
+import com.ecommerce.onlinestore.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,9 +62,16 @@ import java.util.List;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
+    private final ProductCache productCache;
+    private final InventoryReservations inventoryReservations;
+    private final OrderOutbox orderOutbox;
+    private final OrderRollups orderRollups;
+    private final StoreMetrics storeMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public OrderDTO createOrder(CreateOrderRequest request) {
@@ -48,17 +86,17 @@ public class OrderServiceImpl implements OrderService {
             throw new BusinessException("Cannot create order from empty cart");
         }
 
-        // Validate stock and reserve products
-        validateAndReserveStock(cart);
-
         // Create order
         Order order = buildOrderFromCart(cart, request);
 
+        // Turn the cart's holds into conditional stock decrements, fails the whole order if any line is short
+        reserveStock(cart);
+
         // Save order
         Order savedOrder = orderRepository.save(order);
-
-        // Update product stock
-        updateProductStock(cart);
+        orderOutbox.append(OrderEventType.ORDER_CREATED, savedOrder, null);
+        orderRollups.recordCreated(List.of(savedOrder));
+        storeMetrics.ordersPlaced(1);
 
         // Clear cart after successful order creation
         cart.clear();
@@ -68,42 +106,171 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toDTO(savedOrder);
     }
 
-    private void validateAndReserveStock(Cart cart) {
-        List<String> errors = new ArrayList<>();
+    @Override
+    public List<OrderPlacementDTO> createOrders(List<CreateOrderRequest> requests) {
+        log.debug("Creating {} orders in one batch", requests.size());
+
+        List<Long> cartIds = requests.stream().map(CreateOrderRequest::getCartId).distinct().toList();
+        Map<Long, Cart> carts = cartRepository.findByIdInWithItems(cartIds).stream()
+                .collect(Collectors.toMap(Cart::getId, Function.identity()));
+
+        // One stock snapshot for the whole batch, each accepted order takes its lines out of it
+        List<Long> productIds = carts.values().stream()
+                .flatMap(cart -> cart.getItems().stream())
+                .map(item -> item.getProduct().getId())
+                .distinct()
+                .toList();
+        Map<Long, Integer> available = productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getStockQuantity));
+
+        List<OrderPlacementDTO> results = new ArrayList<>(requests.size());
+        Map<Integer, Order> placedByIndex = new LinkedHashMap<>();
+        Map<Long, Integer> batchQuantities = new LinkedHashMap<>();
+        Map<Long, List<Long>> productIdsByCart = new LinkedHashMap<>();
+        for (CreateOrderRequest request : requests) {
+            try {
+                Cart cart = carts.get(request.getCartId());
+                if (cart == null) {
+                    throw new CartNotFoundException(request.getCartId());
+                }
+                // A cart submitted twice in one batch is already empty the second time
+                if (cart.getItems().isEmpty()) {
+                    throw new BusinessException("Cannot create order from empty cart");
+                }
+
+                Map<Long, Integer> quantities = lineQuantities(cart);
+                checkSnapshot(cart, quantities, available);
+                // A rejected cart leaves neither the snapshot nor its holds changed, so later carts are not short
+                inventoryReservations.ensureHeld(cart.getId(), quantities);
+                quantities.forEach((productId, quantity) -> available.merge(productId, -quantity, Integer::sum));
+
+                placedByIndex.put(results.size(), buildOrderFromCart(cart, request));
+                quantities.forEach((productId, quantity) -> batchQuantities.merge(productId, quantity, Integer::sum));
+                productIdsByCart.merge(cart.getId(), List.copyOf(quantities.keySet()), (a, b) -> a);
+                cart.clear();
+                results.add(null);
+            } catch (BusinessException e) {
+                results.add(OrderPlacementDTO.builder()
+                        .status(OrderPlacementStatus.REJECTED)
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+
+        if (placedByIndex.isEmpty()) {
+            return results;
+        }
+
+        // The snapshot may be outdated by checkouts outside the batch, the conditional decrement has the last word
+        int[] updated = productRepository.decrementStock(batchQuantities);
+        List<Long> failedProductIds = new ArrayList<>();
+        int index = 0;
+        for (Long productId : batchQuantities.keySet()) {
+            if (updated[index++] != 1) {
+                failedProductIds.add(productId);
+            }
+        }
+        if (!failedProductIds.isEmpty()) {
+            throw insufficientStock(failedProductIds, batchQuantities);
+        }
+
+        // Snowflake ids let Hibernate send orders and items as JDBC batches
+        orderRepository.saveAll(placedByIndex.values());
+        orderOutbox.appendAll(OrderEventType.ORDER_CREATED, placedByIndex.values());
+        orderRollups.recordCreated(placedByIndex.values());
+        storeMetrics.ordersPlaced(placedByIndex.size());
+
+        batchQuantities.keySet().forEach(productCache::evict);
+        productIdsByCart.forEach(inventoryReservations::commit);
+        placedByIndex.forEach((position, order) -> results.set(position, OrderPlacementDTO.builder()
+                .status(OrderPlacementStatus.PLACED)
+                .order(orderMapper.toDTO(order))
+                .build()));
+
+        log.info("Created {} orders in one batch, rejected {}", placedByIndex.size(),
+                requests.size() - placedByIndex.size());
+        return results;
+    }
 
+    private Map<Long, Integer> lineQuantities(Cart cart) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
         for (CartItem item : cart.getItems()) {
-            Product product = item.getProduct();
-            if (product.getStockQuantity() < item.getQuantity()) {
-                errors.add(String.format(
-                        "Insufficient stock for product '%s'. Requested: %d, Available: %d",
-                        product.getName(), item.getQuantity(), product.getStockQuantity()
-                ));
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private void checkSnapshot(Cart cart, Map<Long, Integer> quantities, Map<Long, Integer> available) {
+        for (CartItem item : cart.getItems()) {
+            Long productId = item.getProduct().getId();
+            int left = available.getOrDefault(productId, 0);
+            if (left < quantities.get(productId)) {
+                storeMetrics.stockOut(StockOutStage.CHECKOUT);
+                throw new InsufficientStockException(item.getProduct().getName(), quantities.get(productId), left);
+            }
+        }
+    }
+
+    private void reserveStock(Cart cart) {
+        Map<Long, Integer> quantities = lineQuantities(cart);
+
+        // Удержания могли истечь - тогда резервируем заново, но не из удержанного другими корзинами
+        inventoryReservations.ensureHeld(cart.getId(), quantities);
+
+        int[] results = productRepository.decrementStock(quantities);
+
+        List<Long> failedProductIds = new ArrayList<>();
+        int index = 0;
+        for (Long productId : quantities.keySet()) {
+            if (results[index++] != 1) {
+                failedProductIds.add(productId);
             }
         }
 
-        if (!errors.isEmpty()) {
-            throw new InsufficientStockException(String.join("; ", errors));
+        if (!failedProductIds.isEmpty()) {
+            throw insufficientStock(failedProductIds, quantities);
         }
+        quantities.keySet().forEach(productCache::evict);
+        inventoryReservations.commit(cart.getId(), List.copyOf(quantities.keySet()));
     }
 
-    // ... остальные методы остаются без изменений ...
+    private BusinessException insufficientStock(List<Long> productIds, Map<Long, Integer> requested) {
+        Map<Long, Product> current = productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
 
-    private void updateProductStock(Cart cart) {
-        for (CartItem item : cart.getItems()) {
-            Product product = item.getProduct();
-            int newStock = product.getStockQuantity() - item.getQuantity();
-            product.setStockQuantity(newStock);
-            productRepository.save(product);
+        List<String> errors = new ArrayList<>();
+        for (Long productId : productIds) {
+            Product product = current.get(productId);
+            if (product == null) {
+                return new ProductNotFoundException(productId);
+            }
+            errors.add(String.format(
+                    "Insufficient stock for product '%s'. Requested: %d, Available: %d",
+                    product.getName(), requested.get(productId), product.getStockQuantity()
+            ));
         }
+        storeMetrics.stockOut(StockOutStage.CHECKOUT);
+        return new InsufficientStockException(String.join("; ", errors));
     }
 
-    private void restoreProductStock(Order order) {
+    private Map<Long, Integer> restoreProductStock(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new com.ecommerce.onlinestore.model.exception.ProductNotFoundException(item.getProductId()));
-            int restoredStock = product.getStockQuantity() + item.getQuantity();
-            product.setStockQuantity(restoredStock);
-            productRepository.save(product);
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        restoreProductStock(quantities);
+        return quantities;
+    }
+
+    private void restoreProductStock(Map<Long, Integer> quantities) {
+        int[] results = productRepository.incrementStock(quantities);
+
+        int index = 0;
+        for (Long productId : quantities.keySet()) {
+            if (results[index++] != 1) {
+                throw new ProductNotFoundException(productId);
+            }
+            productCache.evict(productId);
         }
     }
 
@@ -133,12 +300,15 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private void validateStatusTransition(OrderStatus currentStatus, OrderStatus newStatus) {
-        // Simple validation - in real application, you might want more complex state machine
-        if (currentStatus == OrderStatus.CANCELLED || currentStatus == OrderStatus.DELIVERED) {
-            throw new RuntimeException("Cannot change status from " + currentStatus);
+        if (!currentStatus.canTransitionTo(newStatus)) {
+            throw new BusinessException(invalidTransitionMessage(currentStatus, newStatus));
         }
     }
 
+    private static String invalidTransitionMessage(OrderStatus currentStatus, OrderStatus newStatus) {
+        return "Cannot change order status from " + currentStatus + " to " + newStatus;
+    }
+
     // ... остальные методы без изменений ...
     @Override
     @Transactional(readOnly = true)
@@ -166,38 +336,103 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public Page<OrderDTO> getAllOrders(Pageable pageable) {
         log.debug("Fetching all orders with pageable: {}", pageable);
-        return orderRepository.findAll(pageable)
-                .map(orderMapper::toDTO);
+        return toDTOPage(orderRepository.findAll(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderDTO> getOrdersAfter(String cursor, int size) {
+        log.debug("Fetching orders after cursor: {}, size: {}", cursor, size);
+
+        // One extra row tells whether another page exists without a COUNT query
+        Limit limit = Limit.of(size + 1);
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.seekFirstByCreatedAt(limit);
+        } else {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            orders = orderRepository.seekByCreatedAtBefore(parseCreatedAt(pageCursor), pageCursor.id(), limit);
+        }
+
+        boolean hasNext = orders.size() > size;
+        List<Order> page = hasNext ? orders.subList(0, size) : orders;
+        Order last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageDTO.<OrderDTO>builder()
+                .content(toDTOsWithItems(page))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new PageCursor(last.getCreatedAt().toString(), last.getId()).encode() : null)
+                .build();
+    }
+
+    private Page<OrderDTO> toDTOPage(Page<Order> orders) {
+        return new PageImpl<>(toDTOsWithItems(orders.getContent()), orders.getPageable(), orders.getTotalElements());
+    }
+
+    // Loads the items of all orders on the page with one IN query instead of one lazy load per order
+    private List<OrderDTO> toDTOsWithItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+
+        List<OrderDTO> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderDTO dto = orderMapper.toDTOWithoutItems(order);
+            dto.setOrderItems(itemsByOrderId.getOrDefault(order.getId(), List.of()).stream()
+                    .map(orderMapper::itemToDTO)
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private LocalDateTime parseCreatedAt(PageCursor pageCursor) {
+        try {
+            return LocalDateTime.parse(pageCursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid page cursor", e);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDTO> getOrdersByStatus(OrderStatus status, Pageable pageable) {
         log.debug("Fetching orders by status: {}", status);
-        return orderRepository.findByStatus(status, pageable)
-                .map(orderMapper::toDTO);
+        return toDTOPage(orderRepository.findByStatus(status, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDTO> getOrdersByCustomerEmail(String email, Pageable pageable) {
         log.debug("Fetching orders by customer email: {}", email);
-        return orderRepository.findByCustomerInfo_CustomerEmail(email, pageable)
-                .map(orderMapper::toDTO);
+        return toDTOPage(orderRepository.findByCustomerInfo_CustomerEmail(email, pageable));
     }
 
     @Override
     public OrderDTO updateOrderStatus(Long orderId, OrderStatus status) {
         log.debug("Updating order {} status to: {}", orderId, status);
 
+        // Отмена возвращает товар на склад
+        if (status == OrderStatus.CANCELLED) {
+            return cancelOrder(orderId);
+        }
+
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
 
         // Validate status transition
-        validateStatusTransition(order.getStatus(), status);
+        OrderStatus previousStatus = order.getStatus();
+        validateStatusTransition(previousStatus, status);
 
         order.setStatus(status);
         Order savedOrder = orderRepository.save(order);
+        orderOutbox.append(OrderEventType.ORDER_STATUS_CHANGED, savedOrder, previousStatus);
+        orderRollups.recordStatusChange(savedOrder, previousStatus);
 
         log.info("Updated order {} status to {}", orderId, status);
         return orderMapper.toDTO(savedOrder);
@@ -211,28 +446,171 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
 
         // Only pending or confirmed orders can be cancelled
-        if (order.getStatus() != OrderStatus.PENDING && order.getStatus() != OrderStatus.CONFIRMED) {
-            throw new RuntimeException("Order cannot be cancelled in current status: " + order.getStatus());
+        if (!order.getStatus().canTransitionTo(OrderStatus.CANCELLED)) {
+            throw new BusinessException("Order cannot be cancelled in current status: " + order.getStatus());
         }
 
         // Restore product stock
-        restoreProductStock(order);
+        Map<Long, Integer> returned = restoreProductStock(order);
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         Order savedOrder = orderRepository.save(order);
+        orderOutbox.append(OrderEventType.ORDER_CANCELLED, savedOrder, previousStatus);
+        orderRollups.recordStatusChange(savedOrder, previousStatus);
+        orderRollups.recordUnitsReturned(returned);
 
         log.info("Cancelled order {}", orderId);
         return orderMapper.toDTO(savedOrder);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkStatusTransitionDTO transitionOrders(BulkStatusTransitionRequest request) {
+        OrderStatus target = request.getTargetStatus();
+        log.debug("Bulk transition of orders to {}", target);
+
+        boolean byIds = request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+        if (byIds == (request.getFromStatus() != null)) {
+            throw new BusinessException("Specify either orderIds or fromStatus");
+        }
+
+        List<OrderTransitionResultDTO> results = new ArrayList<>();
+        if (byIds) {
+            List<Long> orderIds = request.getOrderIds().stream().distinct().toList();
+            for (int from = 0; from < orderIds.size(); from += Constants.BULK_TRANSITION_CHUNK_SIZE) {
+                List<Long> chunk = orderIds.subList(from,
+                        Math.min(from + Constants.BULK_TRANSITION_CHUNK_SIZE, orderIds.size()));
+                results.addAll(transactionTemplate.execute(status -> transitionChunk(chunk, null, target)));
+            }
+        } else {
+            validateStatusTransition(request.getFromStatus(), target);
+            int limit = request.getLimit() != null ? request.getLimit() : Constants.MAX_BULK_TRANSITION_ORDERS;
+            // Transitioned orders leave fromStatus, so every round picks up the next ones
+            while (results.size() < limit) {
+                List<Long> chunk = orderRepository.findIdsByStatus(request.getFromStatus(),
+                        Limit.of(Math.min(Constants.BULK_TRANSITION_CHUNK_SIZE, limit - results.size())));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                results.addAll(transactionTemplate.execute(
+                        status -> transitionChunk(chunk, request.getFromStatus(), target)));
+            }
+        }
+
+        int transitioned = (int) results.stream()
+                .filter(result -> result.getOutcome() == StatusTransitionOutcome.TRANSITIONED)
+                .count();
+        log.info("Moved {} of {} orders to {}", transitioned, results.size(), target);
+        return BulkStatusTransitionDTO.builder()
+                .targetStatus(target)
+                .transitioned(transitioned)
+                .results(results)
+                .build();
+    }
+
+    // One transaction per chunk: lock the rows, check every transition, then one UPDATE for the valid ones.
+    // With fromStatus the ids were read without a lock, rows that left it since then are skipped
+    private List<OrderTransitionResultDTO> transitionChunk(List<Long> orderIds, OrderStatus fromStatus,
+                                                           OrderStatus target) {
+        Map<Long, OrderStatusRow> current = orderRepository.lockStatuses(orderIds).stream()
+                .collect(Collectors.toMap(OrderStatusRow::id, Function.identity()));
+
+        List<OrderTransitionResultDTO> results = new ArrayList<>(orderIds.size());
+        List<OrderStatusRow> eligible = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            OrderStatusRow row = current.get(orderId);
+            OrderTransitionResultDTO.OrderTransitionResultDTOBuilder result = OrderTransitionResultDTO.builder()
+                    .orderId(orderId);
+            if (row == null) {
+                result.outcome(StatusTransitionOutcome.NOT_FOUND).message("Order not found");
+            } else if (fromStatus != null && row.status() != fromStatus) {
+                result.outcome(StatusTransitionOutcome.STATUS_CHANGED)
+                        .previousStatus(row.status())
+                        .message("Order is no longer " + fromStatus);
+            } else if (row.status() == target) {
+                result.outcome(StatusTransitionOutcome.UNCHANGED).previousStatus(row.status());
+            } else if (!row.status().canTransitionTo(target)) {
+                result.outcome(StatusTransitionOutcome.INVALID_TRANSITION)
+                        .previousStatus(row.status())
+                        .message(invalidTransitionMessage(row.status(), target));
+            } else {
+                result.outcome(StatusTransitionOutcome.TRANSITIONED).previousStatus(row.status());
+                eligible.add(row);
+            }
+            results.add(result.build());
+        }
+        if (eligible.isEmpty()) {
+            return results;
+        }
+
+        List<Long> eligibleIds = eligible.stream().map(OrderStatusRow::id).toList();
+        orderRepository.updateStatuses(eligibleIds, target);
+        if (target == OrderStatus.CANCELLED) {
+            Map<Long, Integer> returned = orderRepository.sumItemQuantities(eligibleIds);
+            restoreProductStock(returned);
+            orderRollups.recordUnitsReturned(returned);
+        }
+        orderRollups.recordStatusChanges(eligible, target);
+        orderOutbox.appendStatusChanges(target == OrderStatus.CANCELLED
+                ? OrderEventType.ORDER_CANCELLED
+                : OrderEventType.ORDER_STATUS_CHANGED, eligible, target);
+        return results;
+    }
+
+    @Override
+    public ExpiredOrders expireStaleOrders(Collection<Long> orderIds, LocalDateTime createdBefore) {
+        log.debug("Expiring {} stale orders created before {}", orderIds.size(), createdBefore);
+
+        // Заказы могли успеть сменить статус или попасть к обработчику - проверяем под блокировкой
+        List<OrderStatusRow> stale = orderRepository.lockStalePending(orderIds, createdBefore);
+        if (stale.isEmpty()) {
+            return new ExpiredOrders(0, 0);
+        }
+
+        List<Long> staleIds = stale.stream().map(OrderStatusRow::id).toList();
+        orderRepository.updateStatuses(staleIds, OrderStatus.CANCELLED);
+        Map<Long, Integer> returned = orderRepository.sumItemQuantities(staleIds);
+        long unitsReleased = releaseExpiredStock(returned);
+        orderOutbox.appendStatusChanges(OrderEventType.ORDER_CANCELLED, stale, OrderStatus.CANCELLED);
+        orderRollups.recordStatusChanges(stale, OrderStatus.CANCELLED);
+        orderRollups.recordUnitsReturned(returned);
+
+        log.info("Expired {} stale orders, released {} stock units", stale.size(), unitsReleased);
+        return new ExpiredOrders(stale.size(), unitsReleased);
+    }
+
+    // Unlike cancelOrder a deleted product must not fail the chunk, or the job would retry it forever
+    private long releaseExpiredStock(Map<Long, Integer> quantities) {
+        int[] results = productRepository.incrementStock(quantities);
+
+        long released = 0;
+        int index = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (results[index++] == 1) {
+                released += entry.getValue();
+                productCache.evict(entry.getKey());
+            } else {
+                log.warn("Product {} of an expired order no longer exists, {} units not restored",
+                        entry.getKey(), entry.getValue());
+            }
+        }
+        return released;
+    }
+
     @Override
     public void deleteOrder(Long orderId) {
         log.debug("Deleting order: {}", orderId);
 
-        if (!orderRepository.existsById(orderId)) {
-            throw new OrderNotFoundException(orderId);
-        }
+        OrderStatusRow row = orderRepository.lockStatuses(List.of(orderId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
 
+        // Units of a cancelled order already left the product sales
+        if (row.status() != OrderStatus.CANCELLED) {
+            orderRollups.recordUnitsReturned(orderRepository.sumItemQuantities(List.of(orderId)));
+        }
+        orderRollups.recordDeleted(row);
         orderRepository.deleteById(orderId);
         log.info("Deleted order {}", orderId);
     }
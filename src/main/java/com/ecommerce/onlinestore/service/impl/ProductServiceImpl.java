@@ -1,19 +1,30 @@
 package com.ecommerce.onlinestore.service.impl;
 
+import com.ecommerce.onlinestore.cache.ProductCache;
 import com.ecommerce.onlinestore.mapper.ProductMapper;
+import com.ecommerce.onlinestore.model.dto.CursorPageDTO;
 import com.ecommerce.onlinestore.model.dto.ProductDTO;
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
 import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
 import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.search.ProductSearchIndex;
+import com.ecommerce.onlinestore.util.Constants;
+import com.ecommerce.onlinestore.util.PageCursor;
 import com.ecommerce.onlinestore.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,6 +34,8 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchIndex searchIndex;
+    private final ProductCache productCache;
 
     @Override
     public Page<ProductDTO> getAllProducts(Pageable pageable) {
@@ -31,12 +44,36 @@ public class ProductServiceImpl implements ProductService {
                 .map(productMapper::toDTO);
     }
 
+    @Override
+    public CursorPageDTO<ProductDTO> getProductsAfter(String cursor, int size) {
+        log.debug("Fetching products after cursor: {}, size: {}", cursor, size);
+
+        // One extra row tells whether another page exists without a COUNT query
+        Limit limit = Limit.of(size + 1);
+        List<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.seekFirstByName(limit);
+        } else {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            products = productRepository.seekByNameAfter(pageCursor.sortKey(), pageCursor.id(), limit);
+        }
+
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+        Product last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageDTO.<ProductDTO>builder()
+                .content(page.stream().map(productMapper::toDTO).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new PageCursor(last.getName(), last.getId()).encode() : null)
+                .build();
+    }
+
     @Override
     public ProductDTO getProductById(Long id) {
         log.debug("Fetching product by id: {}", id);
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException(id));
-        return productMapper.toDTO(product);
+        return productCache.getById(id);
     }
 
     @Override
@@ -71,8 +108,49 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Page<ProductDTO> searchByKeyword(String keyword, Pageable pageable) {
         log.debug("Searching products by keyword: {}", keyword);
-        return productRepository.searchByKeyword(keyword, pageable)
-                .map(productMapper::toDTO);
+
+        // Sorted requests and queries without searchable tokens still go to the database
+        if (!searchIndex.isReady() || pageable.getSort().isSorted()
+                || ProductSearchIndex.tokenize(keyword).length == 0) {
+            return productRepository.searchByKeyword(keyword, pageable)
+                    .map(productMapper::toDTO);
+        }
+
+        refreshStaleIndexEntries();
+
+        long[] matches = searchIndex.search(keyword);
+        int from = (int) Math.min(pageable.getOffset(), matches.length);
+        int to = Math.min(from + pageable.getPageSize(), matches.length);
+
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(matches[i]);
+        }
+
+        Map<Long, Product> productsById = pageIds.isEmpty()
+                ? Map.of()
+                : productRepository.findByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductDTO> content = pageIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toDTO)
+                .toList();
+
+        return new PageImpl<>(content, pageable, matches.length);
+    }
+
+    private void refreshStaleIndexEntries() {
+        Set<Long> staleIds = searchIndex.drainStale();
+        if (staleIds.isEmpty()) {
+            return;
+        }
+
+        List<Product> current = productRepository.findByIdIn(new ArrayList<>(staleIds));
+        current.forEach(searchIndex::index);
+        current.forEach(product -> staleIds.remove(product.getId()));
+        staleIds.forEach(searchIndex::remove);
     }
 
     @Override
@@ -85,8 +163,41 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductDTO getProductBySku(String sku) {
         log.debug("Fetching product by SKU: {}", sku);
-        Product product = productRepository.findBySku(sku)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with SKU: " + sku));
-        return productMapper.toDTO(product);
+        return productCache.getBySku(sku);
+    }
+
+    @Override
+    @Transactional
+    public ProductDTO enableStockSharding(Long id, int shards) {
+        log.debug("Enabling stock sharding for product: {}, shards: {}", id, shards);
+
+        if (shards < Constants.MIN_STOCK_SHARDS || shards > Constants.MAX_STOCK_SHARDS) {
+            throw new BusinessException("Shard count must be between " + Constants.MIN_STOCK_SHARDS
+                    + " and " + Constants.MAX_STOCK_SHARDS);
+        }
+
+        productRepository.enableStockShards(id, shards);
+        productCache.evict(id);
+
+        log.info("Stock of product {} split into {} shards", id, shards);
+        return findProduct(id);
+    }
+
+    @Override
+    @Transactional
+    public ProductDTO disableStockSharding(Long id) {
+        log.debug("Disabling stock sharding for product: {}", id);
+
+        productRepository.disableStockShards(id);
+        productCache.evict(id);
+
+        log.info("Stock shards of product {} merged back", id);
+        return findProduct(id);
+    }
+
+    private ProductDTO findProduct(Long id) {
+        return productRepository.findById(id)
+                .map(productMapper::toDTO)
+                .orElseThrow(() -> new ProductNotFoundException(id));
     }
 }
@@ -0,0 +1,67 @@
+package com.ecommerce.onlinestore.service.impl;
+
+import com.ecommerce.onlinestore.job.OrderRollupBackfill;
+import com.ecommerce.onlinestore.model.dto.OrderReportDTO;
+import com.ecommerce.onlinestore.model.dto.ProductSalesDTO;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.repository.OrderRollupRepository;
+import com.ecommerce.onlinestore.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportServiceImpl implements ReportService {
+
+    private final OrderRollupRepository rollupRepository;
+    private final OrderRollupBackfill rollupBackfill;
+
+    @Override
+    public OrderReportDTO getOrderReport(OrderStatus status) {
+        log.debug("Fetching order report for status {}", status);
+
+        return OrderReportDTO.builder()
+                .status(status)
+                .orderCount(rollupRepository.sumOrderCount(status))
+                .revenue(rollupRepository.sumRevenue(status))
+                .build();
+    }
+
+    @Override
+    public OrderReportDTO getOrderReport(OrderStatus status, LocalDate from, LocalDate to) {
+        log.debug("Fetching order report for status {} from {} to {}", status, from, to);
+
+        if (from.isAfter(to)) {
+            throw new BusinessException("Report start date must not be after its end date");
+        }
+        return OrderReportDTO.builder()
+                .status(status)
+                .from(from)
+                .to(to)
+                .orderCount(rollupRepository.sumOrderCountBetween(status, from, to))
+                .revenue(rollupRepository.sumRevenueBetween(status, from, to))
+                .build();
+    }
+
+    @Override
+    public List<ProductSalesDTO> getTopSellingProducts(int limit) {
+        log.debug("Fetching top {} selling products", limit);
+        return rollupRepository.findTopSellingProducts(Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildRollups() {
+        rollupBackfill.rebuild();
+    }
+}
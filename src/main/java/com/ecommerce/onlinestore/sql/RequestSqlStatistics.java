@@ -0,0 +1,81 @@
+package com.ecommerce.onlinestore.sql;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements run and time spent in JDBC by one HTTP request. Bound to the request thread by
+ * {@link SqlBudgetFilter}; statements run on other threads (the order pipeline, scheduled jobs) are not counted.
+ * <p>
+ * Statements are grouped by shape - the SQL with its IN lists collapsed - so a lookup in a loop shows up
+ * as one shape repeated many times.
+ */
+public final class RequestSqlStatistics {
+
+    /**
+     * Request attribute holding the statistics of the request once it completed.
+     */
+    public static final String ATTRIBUTE = RequestSqlStatistics.class.getName();
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, Integer> statementsByShape = new LinkedHashMap<>();
+    private int statementCount;
+    private long executionNanos;
+
+    static RequestSqlStatistics begin() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statistics of the request running on this thread, or null outside a request.
+     */
+    static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void executed(String sql, long nanos) {
+        statementCount++;
+        statementsByShape.merge(shapeOf(sql), 1, Integer::sum);
+        executionNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public Map<String, Integer> getStatementsByShape() {
+        return Map.copyOf(statementsByShape);
+    }
+
+    /**
+     * Shapes run more than {@code threshold} times, in the order they first ran.
+     */
+    public List<String> repeatedShapes(int threshold) {
+        return statementsByShape.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.onlinestore.sql;
+
+import com.ecommerce.onlinestore.config.SqlBudgetProperties;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the per-request SQL accounting in front of the connection pool, so statements from Hibernate and
+ * JdbcTemplate alike are counted. The filter is declared here rather than as a component so that web slice
+ * tests without JPA do not pick it up.
+ */
+@Configuration
+public class SqlBudgetConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)) {
+                    return new SqlCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlBudgetFilter sqlBudgetFilter(SqlBudgetProperties properties) {
+        return new SqlBudgetFilter(properties);
+    }
+}
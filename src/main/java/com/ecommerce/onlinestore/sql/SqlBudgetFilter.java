@@ -0,0 +1,126 @@
+package com.ecommerce.onlinestore.sql;
+
+import com.ecommerce.onlinestore.config.SqlBudgetProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Counts the statements and JDBC time of every request and reports them in a {@code Server-Timing} header,
+ * e.g. {@code db;dur=3.250;desc="4 statements"}. The header is written when the response commits, so
+ * statements run while the body streams out are only in the log and in the {@link RequestSqlStatistics}
+ * left in the request attribute.
+ * <p>
+ * Logs a warning when a request runs the same statement shape more than
+ * {@code app.sql-budget.repeated-statement-threshold} times.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, statistics);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            RequestSqlStatistics.end();
+            timedResponse.writeServerTiming();
+            request.setAttribute(RequestSqlStatistics.ATTRIBUTE, statistics);
+            warnAboutRepeats(request, statistics);
+        }
+    }
+
+    private void warnAboutRepeats(HttpServletRequest request, RequestSqlStatistics statistics) {
+        int threshold = properties.getRepeatedStatementThreshold();
+        for (String shape : statistics.repeatedShapes(threshold)) {
+            log.warn("{} {} ran the same statement {} times ({} statements in total), possible N+1: {}",
+                    request.getMethod(), request.getRequestURI(), statistics.getStatementsByShape().get(shape),
+                    statistics.getStatementCount(), shape);
+        }
+    }
+
+    static String serverTiming(RequestSqlStatistics statistics) {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+                statistics.getExecutionNanos() / 1_000_000.0, statistics.getStatementCount());
+    }
+
+    /**
+     * Adds the header just before the response commits - the first body write, flush or error.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestSqlStatistics statistics;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, RequestSqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeServerTiming() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            addHeader(SERVER_TIMING, serverTiming(statistics));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.onlinestore.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+/**
+ * Counts and times every statement executed on a request thread, whoever issued it - Hibernate,
+ * JdbcTemplate or plain JDBC. Each {@code execute*} call is one round trip, so a JDBC batch counts once
+ * however many rows it carries.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        // prepareStatement and prepareCall get their SQL up front, createStatement on execute
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(),
+                                new Class<?>[]{method.getReturnType()}, new CountingStatement(statement, sql));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class CountingStatement implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+
+        CountingStatement(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            }
+            RequestSqlStatistics statistics = RequestSqlStatistics.current();
+            if (statistics == null || !name.startsWith("execute")) {
+                return SqlCountingDataSource.invoke(target, method, args);
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            try {
+                return SqlCountingDataSource.invoke(target, method, args);
+            } finally {
+                statistics.executed(Objects.requireNonNullElse(executed, "batch"), System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -6,9 +6,23 @@ public class Constants {
     public static final String DEFAULT_PAGE_NUMBER = "0";
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEFAULT_SORT_DIRECTION = "asc";
+    public static final int MAX_PAGE_SIZE = 100;
 
     public static final int MAX_CART_QUANTITY = 99;
     public static final int MIN_CART_QUANTITY = 1;
+    public static final int MAX_CART_OPERATIONS = 200;
+
+    public static final int MIN_STOCK_SHARDS = 2;
+    public static final int MAX_STOCK_SHARDS = 64;
+
+    public static final int MAX_BULK_TRANSITION_ORDERS = 10_000;
+    public static final int BULK_TRANSITION_CHUNK_SIZE = 500;
+
+    public static final int ROLLUP_SLOTS = 8;
+    public static final int MAX_TOP_SELLING_PRODUCTS = 100;
+
+    public static final int EXPORT_FETCH_SIZE = 500;
+    public static final int EXPORT_CHUNK_SIZE = 500;
 
     private Constants() {
         // Utility class
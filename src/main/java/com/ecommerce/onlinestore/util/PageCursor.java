@@ -0,0 +1,32 @@
+package com.ecommerce.onlinestore.util;
+
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key and id of the last row returned.
+ */
+public record PageCursor(String sortKey, Long id) {
+
+    private static final char SEPARATOR = '\n';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException("Invalid page cursor");
+            }
+            return new PageCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid page cursor", e);
+        }
+    }
+}
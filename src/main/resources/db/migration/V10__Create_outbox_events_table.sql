@@ -0,0 +1,13 @@
+-- Order lifecycle events, written in the transaction of the order change and deleted once delivered
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    INDEX idx_outbox_events_next_attempt_at (next_attempt_at),
+    INDEX idx_outbox_events_order_id_id (order_id, id)
+);
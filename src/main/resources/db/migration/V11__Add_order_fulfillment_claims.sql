@@ -0,0 +1,6 @@
+-- Fulfillment work queue: a worker claims orders with FOR UPDATE SKIP LOCKED and holds them under a lease
+ALTER TABLE orders ADD COLUMN claim_token VARCHAR(36) NULL;
+ALTER TABLE orders ADD COLUMN claimed_by VARCHAR(100) NULL;
+ALTER TABLE orders ADD COLUMN lease_expires_at TIMESTAMP NULL;
+
+CREATE INDEX idx_orders_status_lease ON orders (status, lease_expires_at);
@@ -0,0 +1,2 @@
+-- Supports the scan for stale PENDING orders of the order expiry job
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at);
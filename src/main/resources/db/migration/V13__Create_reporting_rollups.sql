@@ -0,0 +1,17 @@
+-- Reporting reads these rollups instead of aggregating orders and order_items.
+-- Every (key) is split over slots so concurrent order changes rarely wait on the same row.
+CREATE TABLE order_daily_rollups (
+    order_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    slot INT NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (order_date, status, slot)
+);
+
+CREATE TABLE product_sales_rollups (
+    product_id BIGINT NOT NULL,
+    slot INT NOT NULL,
+    units_sold BIGINT NOT NULL,
+    PRIMARY KEY (product_id, slot)
+);
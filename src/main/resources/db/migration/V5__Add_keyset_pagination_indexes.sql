@@ -0,0 +1,2 @@
+CREATE INDEX idx_products_name_id ON products (name, id);
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
@@ -0,0 +1,6 @@
+-- Order and cart ids are assigned by the application (time-ordered snowflake ids),
+-- so the columns no longer auto-increment and Hibernate can batch the inserts.
+ALTER TABLE order_items MODIFY id BIGINT NOT NULL;
+ALTER TABLE orders MODIFY id BIGINT NOT NULL;
+ALTER TABLE cart_items MODIFY id BIGINT NOT NULL;
+ALTER TABLE carts MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,2 @@
+-- Supports the abandoned cart reaper backlog count and expiry checks
+CREATE INDEX idx_carts_updated_at ON carts (updated_at);
@@ -0,0 +1,11 @@
+-- Hot products can keep their stock in several counter rows, so concurrent checkouts
+-- do not all wait on the same products row. stock_quantity holds the refreshed sum.
+ALTER TABLE products ADD COLUMN stock_shards INT NOT NULL DEFAULT 0;
+
+CREATE TABLE product_stock_shards (
+    product_id BIGINT NOT NULL,
+    shard_no INT NOT NULL,
+    quantity INT NOT NULL,
+    PRIMARY KEY (product_id, shard_no),
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
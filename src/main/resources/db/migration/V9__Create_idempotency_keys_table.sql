@@ -0,0 +1,9 @@
+-- Responses of POST /api/orders by Idempotency-Key, written in the same transaction as the order
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    order_id BIGINT NOT NULL,
+    response TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    INDEX idx_idempotency_keys_created_at (created_at)
+);
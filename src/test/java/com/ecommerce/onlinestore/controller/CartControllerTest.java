@@ -190,4 +190,43 @@ class CartControllerTest {
                         .content(invalidRequest))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldApplyItemOperations() throws Exception {
+        // Given
+        CartDTO cart = CartDTO.builder()
+                .id(1L)
+                .sessionId("session-123")
+                .totalPrice(BigDecimal.valueOf(999.99))
+                .totalItems(1)
+                .items(Collections.emptyList())
+                .build();
+
+        when(cartService.applyItemOperations(eq(1L), anyList())).thenReturn(cart);
+
+        String operationsRequest = """
+            {
+                "operations": [
+                    {"op": "ADD", "productId": 1, "quantity": 2},
+                    {"op": "UPDATE", "itemId": 5, "quantity": 1},
+                    {"op": "REMOVE", "productId": 2}
+                ]
+            }
+            """;
+
+        // When & Then
+        mockMvc.perform(patch("/api/carts/1/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(operationsRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(1));
+    }
+
+    @Test
+    void shouldRejectEmptyItemOperations() throws Exception {
+        mockMvc.perform(patch("/api/carts/1/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": []}"))
+                .andExpect(status().isBadRequest());
+    }
 }
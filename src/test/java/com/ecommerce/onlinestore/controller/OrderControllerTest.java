@@ -1,8 +1,12 @@
 package com.ecommerce.onlinestore.controller;
 
+import com.ecommerce.onlinestore.config.OrderPipelineProperties;
+import com.ecommerce.onlinestore.idempotency.IdempotencyStore;
+import com.ecommerce.onlinestore.placement.OrderPlacementPipeline;
 import com.ecommerce.onlinestore.model.dto.OrderDTO;
 import com.ecommerce.onlinestore.model.dto.OrderItemDTO;
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.service.ExportService;
 import com.ecommerce.onlinestore.service.OrderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +36,18 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockBean
+    private OrderPlacementPipeline placementPipeline;
+
+    @MockBean
+    private OrderPipelineProperties pipelineProperties;
+
     @Test
     void shouldCreateOrder() throws Exception {
         // Given
@@ -2,6 +2,7 @@ package com.ecommerce.onlinestore.controller;
 
 import com.ecommerce.onlinestore.model.dto.ProductDTO;
 import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
+import com.ecommerce.onlinestore.service.ExportService;
 import com.ecommerce.onlinestore.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ExportService exportService;
+
     @Test
     void shouldGetAllProducts() throws Exception {
         // Given
@@ -0,0 +1,107 @@
+package com.ecommerce.onlinestore.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    void shouldGenerateUniqueIncreasingIdsAcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[IDS_PER_THREAD];
+                start.await();
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get(60, TimeUnit.SECONDS);
+            for (int i = 1; i < ids.length; i++) {
+                assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+            }
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).isNotEqualTo(all[i - 1]);
+        }
+        assertThat(SnowflakeIdGenerator.nodeIdOf(all[0])).isEqualTo(7);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(all[all.length - 1])).isEqualTo(7);
+    }
+
+    @Test
+    void shouldStayMonotonicWhenClockMovesBackwards() {
+        AtomicLong now = new AtomicLong(SnowflakeIdGenerator.EPOCH + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, now::get);
+
+        long before = generator.nextId();
+        now.addAndGet(-5_000);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(after)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBorrowNextMillisecondWhenSequenceIsExhausted() {
+        long millis = SnowflakeIdGenerator.EPOCH + 10_000;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, () -> millis);
+
+        long last = 0;
+        for (int i = 0; i <= SnowflakeIdGenerator.SEQUENCE_MASK + 1; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(last);
+            last = id;
+        }
+
+        assertThat(SnowflakeIdGenerator.timestampOf(last).toEpochMilli()).isEqualTo(millis + 1);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(last)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldOrderIdsByTimeAcrossNodes() {
+        AtomicLong now = new AtomicLong(SnowflakeIdGenerator.EPOCH + 10_000);
+        SnowflakeIdGenerator highNode = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID, now::get);
+        SnowflakeIdGenerator lowNode = new SnowflakeIdGenerator(0, now::get);
+
+        long earlier = highNode.nextId();
+        now.incrementAndGet();
+        long later = lowNode.nextId();
+
+        assertThat(later).isGreaterThan(earlier);
+        assertThat(SnowflakeIdGenerator.timestampOf(later).toEpochMilli()).isEqualTo(now.get());
+    }
+
+    @Test
+    void shouldRejectNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
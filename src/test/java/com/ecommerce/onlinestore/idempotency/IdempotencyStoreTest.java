@@ -0,0 +1,148 @@
+package com.ecommerce.onlinestore.idempotency;
+
+import com.ecommerce.onlinestore.config.IdempotencyProperties;
+import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.entity.IdempotencyRecord;
+import com.ecommerce.onlinestore.model.exception.IdempotencyKeyConflictException;
+import com.ecommerce.onlinestore.repository.IdempotencyRecordRepository;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String KEY = "retry-123";
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IdempotencyStore store;
+    private CreateOrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(recordRepository, new TransactionTemplate(transactionManager), objectMapper,
+                new IdempotencyProperties(), new SimpleMeterRegistry());
+        request = TestDataFactory.createCreateOrderRequest(1L);
+    }
+
+    @Test
+    void shouldReplayCompletedKeyWithoutDatabaseWork() {
+        when(recordRepository.findById(KEY)).thenReturn(Optional.empty());
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyStore.Result first = store.execute(KEY, request, () -> order(executions.incrementAndGet()));
+        IdempotencyStore.Result retry = store.execute(KEY, request, () -> order(executions.incrementAndGet()));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.order().getId()).isEqualTo(first.order().getId());
+        assertThat(executions.get()).isEqualTo(1);
+        verify(recordRepository, times(1)).findById(KEY);
+        verify(recordRepository, times(1)).insert(eq(KEY), anyString(), eq(1L), anyString(), any());
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        when(recordRepository.findById(KEY)).thenReturn(Optional.empty());
+        store.execute(KEY, request, () -> order(1L));
+
+        assertThatThrownBy(() -> store.execute(KEY, TestDataFactory.createCreateOrderRequest(2L), () -> order(2L)))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    void shouldReplayKeyPersistedByAnotherInstance() throws Exception {
+        OrderDTO stored = order(7L);
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .key(KEY)
+                .requestHash(sha256(objectMapper.writeValueAsString(request)))
+                .orderId(7L)
+                .response(objectMapper.writeValueAsString(stored))
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(recordRepository.findById(KEY)).thenReturn(Optional.of(record));
+
+        IdempotencyStore.Result result = store.execute(KEY, request, () -> {
+            throw new AssertionError("Order must not be created again");
+        });
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.order().getOrderNumber()).isEqualTo("ORD-7");
+    }
+
+    @Test
+    void shouldLetConcurrentDuplicatesWaitForInFlightResult() throws Exception {
+        when(recordRepository.findById(KEY)).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<IdempotencyStore.Result> first = executor.submit(() -> store.execute(KEY, request, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return order(1L);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<IdempotencyStore.Result> duplicate = executor.submit(() -> store.execute(KEY, request, () -> {
+            executions.incrementAndGet();
+            return order(2L);
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).order().getId()).isEqualTo(1L);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).order().getId()).isEqualTo(1L);
+        assertThat(executions.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    private static OrderDTO order(long id) {
+        return OrderDTO.builder()
+                .id(id)
+                .orderNumber("ORD-" + id)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
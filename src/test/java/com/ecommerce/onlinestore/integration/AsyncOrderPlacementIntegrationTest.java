@@ -0,0 +1,175 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.inventory.InventoryReservations;
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.OrderPlacementDTO;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderPlacementStatus;
+import com.ecommerce.onlinestore.placement.OrderPlacementPipeline;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.JsonUtils;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncOrderPlacementIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderPlacementPipeline placementPipeline;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryReservations inventoryReservations;
+
+    private final List<Long> cartIds = new ArrayList<>();
+    private Product product;
+    private Product scarce;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cartRepository.deleteAllById(cartIds);
+        productRepository.delete(product);
+        if (scarce != null) {
+            productRepository.delete(scarce);
+        }
+    }
+
+    @Test
+    void shouldPlaceQueuedOrdersAndRejectEmptyCart() throws Exception {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Async Item", "Electronics", BigDecimal.TEN, 10));
+        Long firstCart = createCart("async-1", 2);
+        Long secondCart = createCart("async-2", 3);
+        Long emptyCart = createCart("async-empty", 0);
+
+        String first = submit(firstCart);
+        String second = submit(secondCart);
+        String rejected = submit(emptyCart);
+
+        OrderPlacementDTO firstResult = placementPipeline.awaitPlacement(first).get(10, TimeUnit.SECONDS);
+        OrderPlacementDTO secondResult = placementPipeline.awaitPlacement(second).get(10, TimeUnit.SECONDS);
+        OrderPlacementDTO rejectedResult = placementPipeline.awaitPlacement(rejected).get(10, TimeUnit.SECONDS);
+
+        assertThat(firstResult.getStatus()).isEqualTo(OrderPlacementStatus.PLACED);
+        assertThat(secondResult.getStatus()).isEqualTo(OrderPlacementStatus.PLACED);
+        assertThat(rejectedResult.getStatus()).isEqualTo(OrderPlacementStatus.REJECTED);
+        assertThat(rejectedResult.getMessage()).contains("empty cart");
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(5);
+        assertThat(cartService.getCartById(firstCart).getItems()).isEmpty();
+
+        mockMvc.perform(get("/api/orders/placements/{trackingNumber}", first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PLACED")))
+                .andExpect(jsonPath("$.order.id", is(firstResult.getOrder().getId().toString())))
+                .andExpect(jsonPath("$.order.orderItems", hasSize(1)));
+
+        MvcResult stream = mockMvc.perform(get("/api/orders/placements/{trackingNumber}/stream", second))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The event is sent from a pipeline result thread, wait for the stream to complete
+        stream.getAsyncResult(10_000);
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("event:placement")
+                .contains("\"status\":\"PLACED\"");
+    }
+
+    @Test
+    void shouldNotLetRejectedCartShortLaterCartsInBatch() {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Async Item", "Electronics", BigDecimal.TEN, 10));
+        scarce = productRepository.save(
+                TestDataFactory.createProduct(null, "Scarce Item", "Electronics", BigDecimal.TEN, 1));
+        Long rejectedCart = createCart("batch-rejected", 5);
+        cartService.addItemToCart(rejectedCart, new AddToCartRequest(scarce.getId(), 1));
+        // The holds of both carts expired, meanwhile another cart took the scarce item
+        inventoryReservations.releaseAll(rejectedCart, List.of(product.getId(), scarce.getId()));
+        Long placedCart = createCart("batch-placed", 6);
+        inventoryReservations.release(placedCart, product.getId());
+        Long otherCart = createCart("batch-other", 0);
+        cartService.addItemToCart(otherCart, new AddToCartRequest(scarce.getId(), 1));
+
+        List<OrderPlacementDTO> results = orderService.createOrders(List.of(
+                TestDataFactory.createCreateOrderRequest(rejectedCart),
+                TestDataFactory.createCreateOrderRequest(placedCart)));
+
+        assertThat(results).extracting(OrderPlacementDTO::getStatus)
+                .containsExactly(OrderPlacementStatus.REJECTED, OrderPlacementStatus.PLACED);
+        assertThat(inventoryReservations.heldBy(rejectedCart, product.getId())).isZero();
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownTrackingNumber() throws Exception {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Async Item", "Electronics", BigDecimal.TEN, 10));
+
+        mockMvc.perform(get("/api/orders/placements/{trackingNumber}", "TRK-0"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Long createCart(String sessionId, int quantity) {
+        CartDTO cart = cartService.createCart(sessionId);
+        if (quantity > 0) {
+            cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), quantity));
+        }
+        cartIds.add(cart.getId());
+        return cart.getId();
+    }
+
+    private String submit(Long cartId) throws Exception {
+        String response = mockMvc.perform(post("/api/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(TestDataFactory.createCreateOrderRequest(cartId))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/orders/placements/TRK-")))
+                .andExpect(jsonPath("$.status", anyOf(is("QUEUED"), is("PLACED"), is("REJECTED"))))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return JsonUtils.fromJson(response, com.fasterxml.jackson.databind.JsonNode.class)
+                .path("trackingNumber").asText();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.JsonUtils;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkOrderStatusIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> cartIds = new ArrayList<>();
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Bulk Item", "Electronics", BigDecimal.TEN, 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cartRepository.deleteAllById(cartIds);
+        productRepository.delete(product);
+    }
+
+    @Test
+    void shouldTransitionListedOrdersAndReportEachOutcome() throws Exception {
+        OrderDTO first = placeOrder("bulk-1", 1);
+        OrderDTO second = placeOrder("bulk-2", 1);
+        OrderDTO delivered = placeOrder("bulk-3", 1);
+        orderService.updateOrderStatus(delivered.getId(), OrderStatus.CONFIRMED);
+        orderService.updateOrderStatus(delivered.getId(), OrderStatus.PROCESSING);
+
+        BulkStatusTransitionRequest request = BulkStatusTransitionRequest.builder()
+                .orderIds(List.of(first.getId(), second.getId(), delivered.getId(), 999L))
+                .targetStatus(OrderStatus.CONFIRMED)
+                .build();
+
+        mockMvc.perform(post("/api/orders/status-transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned", is(2)))
+                .andExpect(jsonPath("$.results[*].outcome",
+                        contains("TRANSITIONED", "TRANSITIONED", "INVALID_TRANSITION", "NOT_FOUND")))
+                .andExpect(jsonPath("$.results[0].previousStatus", is("PENDING")))
+                .andExpect(jsonPath("$.results[2].message", containsString("from PROCESSING to CONFIRMED")));
+
+        assertThat(orderService.getOrderById(first.getId()).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(orderService.getOrderById(delivered.getId()).getStatus()).isEqualTo(OrderStatus.PROCESSING);
+    }
+
+    @Test
+    void shouldCancelAllOrdersInStatusAndRestoreStock() throws Exception {
+        placeOrder("bulk-4", 2);
+        placeOrder("bulk-5", 3);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(5);
+
+        BulkStatusTransitionRequest request = BulkStatusTransitionRequest.builder()
+                .fromStatus(OrderStatus.PENDING)
+                .targetStatus(OrderStatus.CANCELLED)
+                .build();
+
+        mockMvc.perform(post("/api/orders/status-transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned", is(2)))
+                .andExpect(jsonPath("$.results", hasSize(2)));
+
+        assertThat(orderRepository.countByStatus(OrderStatus.CANCELLED)).isEqualTo(2);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRejectTransitionNotInTheTable() throws Exception {
+        BulkStatusTransitionRequest request = BulkStatusTransitionRequest.builder()
+                .fromStatus(OrderStatus.PENDING)
+                .targetStatus(OrderStatus.SHIPPED)
+                .build();
+
+        mockMvc.perform(post("/api/orders/status-transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private OrderDTO placeOrder(String sessionId, int quantity) {
+        CartDTO cart = cartService.createCart(sessionId);
+        cartIds.add(cart.getId());
+        cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), quantity));
+        return orderService.createOrder(TestDataFactory.createCreateOrderRequest(cart.getId()));
+    }
+}
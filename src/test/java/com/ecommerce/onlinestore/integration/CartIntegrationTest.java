@@ -1,12 +1,16 @@
 package com.ecommerce.onlinestore.integration;
 
+import com.ecommerce.onlinestore.model.dto.CartItemOperation;
+import com.ecommerce.onlinestore.model.dto.CartItemOperationsRequest;
 import com.ecommerce.onlinestore.model.entity.Cart;
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.CartItemOperationType;
 import com.ecommerce.onlinestore.repository.CartRepository;
 import com.ecommerce.onlinestore.repository.ProductRepository;
 import com.ecommerce.onlinestore.util.JsonUtils;
 import com.ecommerce.onlinestore.util.TestDataFactory;
 import com.ecommerce.onlinestore.util.TestConstants;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -38,6 +43,9 @@ class CartIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private List<Product> sampleProducts;
     private Cart testCart;
 
@@ -69,7 +77,7 @@ class CartIntegrationTest {
         mockMvc.perform(get("/api/carts/{cartId}", testCart.getId())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(testCart.getId().intValue())))
+                .andExpect(jsonPath("$.id", is(testCart.getId().toString())))
                 .andExpect(jsonPath("$.sessionId", is(TestConstants.TEST_SESSION_ID)));
     }
 
@@ -101,4 +109,100 @@ class CartIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", containsString("Insufficient stock")));
     }
+
+    @Test
+    void shouldNotAddUnitsHeldByAnotherCart() throws Exception {
+        Product product = sampleProducts.get(0); // stock 10
+        Cart otherCart = cartRepository.save(TestDataFactory.createCart(null, "other-session"));
+
+        mockMvc.perform(post("/api/carts/{cartId}/items", otherCart.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(TestDataFactory.createAddToCartRequest(product.getId(), 8))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/carts/{cartId}/items", testCart.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(TestDataFactory.createAddToCartRequest(product.getId(), 3))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Requested: 3, Available: 2")));
+    }
+
+    @Test
+    void shouldMergeCartsHoldingAllRemainingStock() throws Exception {
+        Product product = sampleProducts.get(0); // stock 10
+        Cart guestCart = cartRepository.save(TestDataFactory.createCart(null, "guest-session"));
+        addItem(guestCart.getId(), product.getId(), 6).andExpect(status().isOk());
+        addItem(testCart.getId(), product.getId(), 4).andExpect(status().isOk());
+        // The merge comes in a request of its own, with an empty persistence context
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(post("/api/carts/merge")
+                        .param("sourceCartId", guestCart.getId().toString())
+                        .param("targetCartId", testCart.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].quantity", is(10)));
+
+        // The merged cart holds every unit, nothing is left for anyone else
+        Cart otherCart = cartRepository.save(TestDataFactory.createCart(null, "other-session"));
+        addItem(otherCart.getId(), product.getId(), 1)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Requested: 1, Available: 0")));
+    }
+
+    @Test
+    void shouldApplyItemOperationsInOneRequest() throws Exception {
+        Product laptop = sampleProducts.get(0);
+        Product smartphone = sampleProducts.get(1);
+        String request = JsonUtils.toJson(new CartItemOperationsRequest(List.of(
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(laptop.getId()).quantity(2).build(),
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(smartphone.getId()).quantity(1).build(),
+                CartItemOperation.builder().op(CartItemOperationType.UPDATE).productId(laptop.getId()).quantity(3).build(),
+                CartItemOperation.builder().op(CartItemOperationType.REMOVE).productId(smartphone.getId()).build())));
+
+        mockMvc.perform(patch("/api/carts/{cartId}/items", testCart.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].productId", is(laptop.getId().intValue())))
+                .andExpect(jsonPath("$.items[0].quantity", is(3)))
+                .andExpect(jsonPath("$.totalItems", is(3)))
+                .andExpect(jsonPath("$.totalPrice", is(2999.97)));
+    }
+
+    @Test
+    void shouldRejectItemOperationsAsAWhole() throws Exception {
+        Product laptop = sampleProducts.get(0);
+        String request = JsonUtils.toJson(new CartItemOperationsRequest(List.of(
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(laptop.getId()).quantity(2).build(),
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(laptop.getId()).quantity(20).build())));
+
+        mockMvc.perform(patch("/api/carts/{cartId}/items", testCart.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Insufficient stock")));
+    }
+
+    @Test
+    void shouldRejectItemOperationsForAnUnknownProductAsABadRequest() throws Exception {
+        Product laptop = sampleProducts.get(0);
+        String request = JsonUtils.toJson(new CartItemOperationsRequest(List.of(
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(laptop.getId()).quantity(1).build(),
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(999_999L).quantity(1).build())));
+
+        mockMvc.perform(patch("/api/carts/{cartId}/items", testCart.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Product not found with id: 999999")));
+    }
+
+    private ResultActions addItem(Long cartId, Long productId, int quantity) throws Exception {
+        return mockMvc.perform(post("/api/carts/{cartId}/items", cartId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(TestDataFactory.createAddToCartRequest(productId, quantity))));
+    }
 }
@@ -0,0 +1,135 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcurrentCheckoutIntegrationTest {
+
+    private static final int STOCK = 10;
+    private static final int SHOPPERS = 25;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final List<Long> cartIds = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cartRepository.deleteAllById(cartIds);
+        productRepository.deleteAll(products);
+    }
+
+    @Test
+    void shouldNeverOversellUnderConcurrentCheckouts() throws Exception {
+        Product product = save(TestDataFactory.createProduct(null, "Flash Sale Item", "Electronics", BigDecimal.TEN, SHOPPERS));
+
+        // Every shopper holds a unit, then stock drops below the holds (e.g. sold through another instance)
+        for (int i = 0; i < SHOPPERS; i++) {
+            CartDTO cart = cartService.createCart("flash-sale-" + i);
+            cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), 1));
+            cartIds.add(cart.getId());
+        }
+        product.setStockQuantity(STOCK);
+        product = save(product);
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        checkOutConcurrently(placed, rejected);
+
+        assertThat(placed.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(SHOPPERS - STOCK);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Test
+    void shouldNotDeadlockWhenCartsListTheSameProductsInOppositeOrder() throws Exception {
+        Product first = save(TestDataFactory.createProduct(null, "Bundle Part A", "Electronics", BigDecimal.TEN, SHOPPERS));
+        Product second = save(TestDataFactory.createProduct(null, "Bundle Part B", "Electronics", BigDecimal.ONE, SHOPPERS));
+        // Half of the carts list A before B, the other half B before A
+        for (int i = 0; i < SHOPPERS; i++) {
+            CartDTO cart = cartService.createCart("bundle-" + i);
+            List<Product> lines = i % 2 == 0 ? List.of(first, second) : List.of(second, first);
+            for (Product line : lines) {
+                cartService.addItemToCart(cart.getId(), new AddToCartRequest(line.getId(), 1));
+            }
+            cartIds.add(cart.getId());
+        }
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        checkOutConcurrently(placed, rejected);
+
+        assertThat(placed.get()).isEqualTo(SHOPPERS);
+        assertThat(rejected.get()).isZero();
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(productRepository.findById(second.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    private Product save(Product product) {
+        Product saved = productRepository.save(product);
+        products.removeIf(existing -> existing.getId().equals(saved.getId()));
+        products.add(saved);
+        return saved;
+    }
+
+    // Checks out every cart from several threads at once; lock errors fail the test
+    private void checkOutConcurrently(AtomicInteger placed, AtomicInteger rejected) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long cartId : cartIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(TestDataFactory.createCreateOrderRequest(cartId));
+                    placed.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+}
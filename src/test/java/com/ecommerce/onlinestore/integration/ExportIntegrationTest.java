@@ -0,0 +1,190 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.ExportFormat;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.ExportService;
+import com.ecommerce.onlinestore.util.Constants;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportIntegrationTest {
+
+    private static final String CATEGORY = "Export Category";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        products.add(productRepository.save(
+                TestDataFactory.createProduct(null, "Cable, \"braided\"", CATEGORY, BigDecimal.TEN, 5)));
+        products.add(productRepository.save(
+                TestDataFactory.createProduct(null, "Export Charger", CATEGORY, BigDecimal.ONE, 7)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll(products);
+    }
+
+    @Test
+    void shouldExportOrdersAsNdjson() throws Exception {
+        saveOrders("EXP-P", OrderStatus.PENDING, 3);
+        saveOrders("EXP-S", OrderStatus.SHIPPED, 2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportOrders(ExportFormat.NDJSON, OrderStatus.PENDING, null, null, true, out);
+
+        List<String> lines = lines(out);
+        assertThat(exported).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            assertThat(order.get("status").asText()).isEqualTo("PENDING");
+            assertThat(order.get("orderItems")).hasSize(1);
+            assertThat(order.get("orderItems").get(0).get("quantity").asInt()).isEqualTo(2);
+        }
+
+        out.reset();
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        assertThat(exportService.exportOrders(ExportFormat.NDJSON, null, tomorrow, null, false, out)).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    void shouldExportOrdersAsCsvWithOneRowPerItem() throws Exception {
+        Order order = TestDataFactory.createOrder(null, "EXP-CSV", OrderStatus.CONFIRMED);
+        order.getCustomerInfo().setCustomerName("Doe, \"Johnny\"");
+        order.getOrderItems().add(TestDataFactory.createOrder(null, null, OrderStatus.CONFIRMED)
+                .getOrderItems().get(0));
+        order.getOrderItems().get(1).setOrder(order);
+        orderRepository.save(order);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(ExportFormat.CSV, null, LocalDate.now(), LocalDate.now(), true, out);
+
+        List<String> lines = lines(out);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,order_number,status").endsWith(",item_total_price");
+        assertThat(lines.subList(1, 3)).allSatisfy(line -> assertThat(line)
+                .contains(",EXP-CSV,CONFIRMED,")
+                .contains(",\"Doe, \"\"Johnny\"\"\",")
+                .endsWith(",Test Product,99.99,2,199.98"));
+
+        out.reset();
+        exportService.exportOrders(ExportFormat.CSV, null, null, null, false, out);
+        assertThat(lines(out)).hasSize(2);
+    }
+
+    @Test
+    void shouldLoadItemsOfEveryChunkWhileTheOrderStreamIsOpen() throws Exception {
+        saveOrders("EXP-C", OrderStatus.PENDING, Constants.EXPORT_CHUNK_SIZE + 1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportOrders(ExportFormat.NDJSON, null, null, null, true, out);
+
+        List<String> lines = lines(out);
+        assertThat(exported).isEqualTo(Constants.EXPORT_CHUNK_SIZE + 1);
+        assertThat(lines).hasSize(Constants.EXPORT_CHUNK_SIZE + 1)
+                .allSatisfy(line -> assertThat(objectMapper.readTree(line).get("orderItems")).hasSize(1));
+    }
+
+    @Test
+    void shouldExportProductsOfACategory() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportProducts(ExportFormat.CSV, CATEGORY, null, null, out);
+
+        List<String> lines = lines(out);
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).containsExactly(
+                "id,sku,name,category,price,stock_quantity,created_at,updated_at",
+                lines.get(1), lines.get(2));
+        assertThat(lines.get(1)).contains(",\"Cable, \"\"braided\"\"\"," + CATEGORY + ",10.00,5,");
+        assertThat(lines.get(2)).contains(",Export Charger," + CATEGORY + ",1.00,7,");
+    }
+
+    @Test
+    void shouldStreamExportsOverHttp() throws Exception {
+        saveOrders("EXP-H", OrderStatus.PENDING, 2);
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export").param("status", "PENDING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.ndjson\""));
+        assertThat(result.getResponse().getContentAsString().lines()).hasSize(2);
+
+        result = mockMvc.perform(get("/api/products/export").param("format", "CSV").param("category", CATEGORY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""));
+        assertThat(result.getResponse().getContentAsString().lines()).hasSize(3);
+
+        mockMvc.perform(get("/api/orders/export")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void saveOrders(String prefix, OrderStatus status, int count) {
+        for (int i = 0; i < count; i++) {
+            orderRepository.save(TestDataFactory.createOrder(null, prefix + "-" + i, status));
+        }
+    }
+
+    private static List<String> lines(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.FulfillmentClaimDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.model.exception.ClaimNotHeldException;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.service.FulfillmentService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FulfillmentQueueIntegrationTest {
+
+    private static final int ORDERS = 160;
+    private static final int CLAIM_SIZE = 10;
+    // Simulated packing work per order
+    private static final long WORK_MILLIS = 10;
+
+    @Autowired
+    private FulfillmentService fulfillmentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNeverHandTheSameOrderToTwoWorkers() throws Exception {
+        List<Long> orderIds = createConfirmedOrders(ORDERS);
+
+        List<Long> claimed = runWorkers(8);
+
+        assertThat(claimed).hasSize(ORDERS).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(orderIds);
+        assertThat(orderRepository.countByStatus(OrderStatus.PROCESSING)).isEqualTo(ORDERS);
+    }
+
+    @Test
+    void shouldLetSeveralWorkersHoldDisjointClaimsAtOnce() throws Exception {
+        int workers = 4;
+        createConfirmedOrders(workers * CLAIM_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CyclicBarrier allClaimed = new CyclicBarrier(workers);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            String workerId = "worker-" + w;
+            futures.add(executor.submit(() -> {
+                FulfillmentClaimDTO claim = fulfillmentService.claimOrders(workerId, CLAIM_SIZE);
+                // Nobody completes until every worker holds a claim, so a claim waiting on another one times out
+                allClaimed.await(30, TimeUnit.SECONDS);
+                for (OrderDTO order : claim.getOrders()) {
+                    fulfillmentService.completeOrder(claim.getClaimToken(), order.getId(), OrderStatus.PROCESSING);
+                }
+                return claim.getOrders().stream().map(OrderDTO::getId).toList();
+            }));
+        }
+        List<List<Long>> claims = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            claims.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertThat(claims).allSatisfy(claim -> assertThat(claim).hasSize(CLAIM_SIZE));
+        assertThat(claims.stream().flatMap(List::stream).toList()).doesNotHaveDuplicates();
+        assertThat(orderRepository.countByStatus(OrderStatus.PROCESSING)).isEqualTo(workers * CLAIM_SIZE);
+    }
+
+    @Test
+    void shouldReclaimOrdersOfAnExpiredLease() {
+        createConfirmedOrders(3);
+        FulfillmentClaimDTO crashed = fulfillmentService.claimOrders("worker-crashed", 10);
+        assertThat(crashed.getOrders()).hasSize(3);
+        assertThat(fulfillmentService.claimOrders("worker-2", 10).getOrders()).isEmpty();
+
+        jdbcTemplate.update("UPDATE orders SET lease_expires_at = DATEADD('SECOND', -1, CURRENT_TIMESTAMP)");
+        FulfillmentClaimDTO reclaimed = fulfillmentService.claimOrders("worker-2", 10);
+
+        assertThat(reclaimed.getOrders()).extracting(OrderDTO::getId)
+                .containsExactlyElementsOf(crashed.getOrders().stream().map(OrderDTO::getId).toList());
+        assertThat(reclaimed.getOrders().get(0).getOrderItems()).hasSize(1);
+        Long orderId = crashed.getOrders().get(0).getId();
+        assertThatThrownBy(() -> fulfillmentService.completeOrder(crashed.getClaimToken(), orderId, OrderStatus.PROCESSING))
+                .isInstanceOf(ClaimNotHeldException.class);
+        assertThatThrownBy(() -> fulfillmentService.renewLease(crashed.getClaimToken()))
+                .isInstanceOf(ClaimNotHeldException.class);
+        assertThat(fulfillmentService.completeOrder(reclaimed.getClaimToken(), orderId, OrderStatus.PROCESSING)
+                .getStatus()).isEqualTo(OrderStatus.PROCESSING);
+    }
+
+    private List<Long> createConfirmedOrders(int count) {
+        List<Order> orders = IntStream.range(0, count)
+                .mapToObj(i -> TestDataFactory.createOrder(null, null, OrderStatus.CONFIRMED))
+                .toList();
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    // Each worker claims, works on and completes batches until the queue is empty; returns all claimed ids
+    private List<Long> runWorkers(int workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            String workerId = "worker-" + w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> handled = new ArrayList<>();
+                while (true) {
+                    FulfillmentClaimDTO claim = fulfillmentService.claimOrders(workerId, CLAIM_SIZE);
+                    if (claim.getOrders().isEmpty()) {
+                        return handled;
+                    }
+                    for (OrderDTO order : claim.getOrders()) {
+                        Thread.sleep(WORK_MILLIS);
+                        fulfillmentService.completeOrder(claim.getClaimToken(), order.getId(), OrderStatus.PROCESSING);
+                        handled.add(order.getId());
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        List<Long> claimed = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            claimed.addAll(future.get(120, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return claimed;
+    }
+}
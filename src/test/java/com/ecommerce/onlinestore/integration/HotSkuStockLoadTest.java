@@ -0,0 +1,158 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.job.HotStockMaintenanceJob;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HotSkuStockLoadTest {
+
+    private static final int STOCK = 200;
+    private static final int SHARDS = 8;
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 260;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HotStockMaintenanceJob maintenanceJob;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", product.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void shouldSellExactlyTheStockOfAHotSku() throws Exception {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Hot Item", "Electronics", BigDecimal.TEN, STOCK));
+        transactionTemplate.executeWithoutResult(status -> productRepository.enableStockShards(product.getId(), SHARDS));
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int[] result = transactionTemplate.execute(
+                        status -> productRepository.decrementStock(Map.of(product.getId(), 1)));
+                (result[0] == 1 ? sold : rejected).incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - STOCK);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM product_stock_shards WHERE product_id = ?", Integer.class, product.getId()))
+                .isZero();
+
+        maintenanceJob.run();
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Test
+    void shouldRebalanceFragmentedShardsWithoutDeadlock() throws Exception {
+        int stock = 150;
+        int unitsPerOrder = 4;
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Hot Item", "Electronics", BigDecimal.TEN, stock));
+        transactionTemplate.executeWithoutResult(status -> productRepository.enableStockShards(product.getId(), SHARDS));
+
+        // Multi-unit orders leave shards too small to cover an order, so most decrements end in a rebalance
+        // that runs while other checkouts hold shard rows
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < stock / unitsPerOrder + 20; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int[] result = transactionTemplate.execute(
+                        status -> productRepository.decrementStock(Map.of(product.getId(), unitsPerOrder)));
+                if (result[0] == 1) {
+                    sold.addAndGet(unitsPerOrder);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Integer left = jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM product_stock_shards WHERE product_id = ?", Integer.class, product.getId());
+        assertThat(sold.get() + left).isEqualTo(stock);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT MIN(quantity) FROM product_stock_shards WHERE product_id = ?", Integer.class, product.getId()))
+                .isNotNegative();
+        // Rebalances wait for shards held by other checkouts, so only the remainder below one order is left
+        assertThat(left).isLessThan(unitsPerOrder);
+    }
+
+    @Test
+    void shouldWaitForLockedShardsInsteadOfReportingAStockOut() throws Exception {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Hot Item", "Electronics", BigDecimal.TEN, 3));
+        transactionTemplate.executeWithoutResult(status -> productRepository.enableStockShards(product.getId(), 2));
+
+        // A slow checkout holds shard 0 (2 units), shard 1 alone cannot cover an order of 3
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT quantity FROM product_stock_shards WHERE product_id = ? AND shard_no = 0 "
+                    + "FOR UPDATE", product.getId());
+            locked.countDown();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(500));
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        int[] result = transactionTemplate.execute(status -> productRepository.decrementStock(Map.of(product.getId(), 3)));
+        holder.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(result).containsExactly(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM product_stock_shards WHERE product_id = ?", Integer.class, product.getId()))
+                .isZero();
+    }
+}
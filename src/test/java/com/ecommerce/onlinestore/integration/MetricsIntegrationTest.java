@@ -0,0 +1,129 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Metrics Item", "Electronics", BigDecimal.TEN, 3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cartRepository.deleteAll();
+        productRepository.delete(product);
+    }
+
+    @Test
+    void shouldCountCartsOrdersAndStockOuts() throws Exception {
+        double cartsBefore = counter("carts.created");
+        double ordersBefore = counter("orders.placed");
+        double stockOutsBefore = meterRegistry.get("inventory.stock.outs").tag("stage", "cart").counter().count();
+
+        Long cartId = createCart();
+        addItem(cartId, 5).andExpect(status().isBadRequest());
+        addItem(cartId, 2).andExpect(status().isOk());
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TestDataFactory.createCreateOrderRequest(cartId))))
+                .andExpect(status().isOk());
+
+        assertThat(counter("carts.created") - cartsBefore).isEqualTo(1);
+        assertThat(counter("orders.placed") - ordersBefore).isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.stock.outs").tag("stage", "cart").counter().count()
+                - stockOutsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExposeLatencyHibernateAndPoolMetricsForPrometheus() throws Exception {
+        createCart();
+        mockMvc.perform(get("/api/products/{id}", product.getId())).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*handler=\"CartController.createCart\"")
+                .containsPattern("http_server_requests_seconds\\{.*handler=\"ProductController.getProductById\""
+                        + ".*quantile=\"0.99\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hibernate_flushes_total")
+                .contains("hibernate_statements_total")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hikaricp_connections_usage_seconds_bucket")
+                .contains("carts_created_total")
+                .contains("orders_placed_total")
+                .contains("inventory_stock_outs_total{stage=\"checkout\"");
+    }
+
+    private Long createCart() throws Exception {
+        String body = mockMvc.perform(post("/api/carts"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private ResultActions addItem(Long cartId, int quantity) throws Exception {
+        return mockMvc.perform(post("/api/carts/{cartId}/items", cartId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new AddToCartRequest(product.getId(), quantity))));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
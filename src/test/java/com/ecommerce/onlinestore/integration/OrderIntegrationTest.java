@@ -1,12 +1,15 @@
 package com.ecommerce.onlinestore.integration;
 
 import com.ecommerce.onlinestore.model.entity.Cart;
+import com.ecommerce.onlinestore.model.entity.Order;
 import com.ecommerce.onlinestore.model.entity.Product;
 import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
 import com.ecommerce.onlinestore.repository.ProductRepository;
 import com.ecommerce.onlinestore.util.JsonUtils;
 import com.ecommerce.onlinestore.util.TestDataFactory;
 import com.ecommerce.onlinestore.util.TestConstants;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +42,9 @@ class OrderIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private OrderRepository orderRepository;
+
     private List<Product> sampleProducts;
     private Cart testCart;
 
@@ -131,7 +138,7 @@ class OrderIntegrationTest {
         mockMvc.perform(get("/api/orders/{orderId}", orderId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(orderId.intValue())))
+                .andExpect(jsonPath("$.id", is(orderId.toString())))
                 .andExpect(jsonPath("$.orderNumber").exists())
                 .andExpect(jsonPath("$.status", is("PENDING")));
     }
@@ -194,7 +201,7 @@ class OrderIntegrationTest {
                         .param("status", "CONFIRMED")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(orderId.intValue())))
+                .andExpect(jsonPath("$.id", is(orderId.toString())))
                 .andExpect(jsonPath("$.status", is("CONFIRMED")));
     }
 
@@ -209,7 +216,7 @@ class OrderIntegrationTest {
         mockMvc.perform(put("/api/orders/{orderId}/cancel", orderId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(orderId.intValue())))
+                .andExpect(jsonPath("$.id", is(orderId.toString())))
                 .andExpect(jsonPath("$.status", is("CANCELLED")));
     }
 
@@ -332,7 +339,63 @@ class OrderIntegrationTest {
                 .andExpect(jsonPath("$.stockQuantity", is(initialStock - 2)));
     }
 
+    @Test
+    void shouldReplayOrderForRetriedIdempotencyKey() throws Exception {
+        // Given - Add item to cart
+        Product laptop = findProductByName("Laptop");
+        mockMvc.perform(post("/api/carts/{cartId}/items", testCart.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.toJson(TestDataFactory.createAddToCartRequest(laptop.getId(), 1))));
+        String createOrderRequest = JsonUtils.toJson(TestDataFactory.createCreateOrderRequest(testCart.getId()));
+
+        String orderResponse = mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "checkout-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createOrderRequest))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long orderId = JsonUtils.fromJson(orderResponse, com.fasterxml.jackson.databind.JsonNode.class)
+                .path("id").asLong();
+
+        // When & Then - The retry returns the same order although the cart is empty by now
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "checkout-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createOrderRequest))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id", is(orderId.toString())))
+                .andExpect(jsonPath("$.orderItems", hasSize(1)));
+
+        // Reusing the key for a different request is rejected
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "checkout-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(TestDataFactory.createCreateOrderRequest(testCart.getId() + 1))))
+                .andExpect(status().isConflict());
+    }
+
     // Helper methods
+    @Test
+    void shouldSendSnowflakeIdsAsExactStrings() throws Exception {
+        JsonNode created = JsonUtils.fromJson(addProductToCartAndCreateOrder(), JsonNode.class);
+        Order order = orderRepository.findByOrderNumberWithItems(created.path("orderNumber").asText()).orElseThrow();
+
+        // Beyond 2^53 a JavaScript number can no longer hold the id exactly
+        assertThat(order.getId()).isGreaterThan(1L << 53);
+        assertThat(created.path("id").isTextual()).isTrue();
+        assertThat(created.path("id").asText()).isEqualTo(order.getId().toString());
+        assertThat(created.path("orderItems").path(0).path("id").asText())
+                .isEqualTo(order.getOrderItems().get(0).getId().toString());
+
+        mockMvc.perform(get("/api/orders/{orderId}", created.path("id").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(order.getId().toString())));
+    }
+
     private String addProductToCartAndCreateOrder() throws Exception {
         // Add product to cart
         Product product = findProductByName("Laptop");
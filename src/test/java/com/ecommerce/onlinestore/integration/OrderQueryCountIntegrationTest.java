@@ -0,0 +1,103 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.TestConstants;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class OrderQueryCountIntegrationTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldListOrdersWithConstantNumberOfStatements() {
+        createOrders(3);
+        long smallPageStatements = countStatements(() -> orderService.getAllOrders(PageRequest.of(0, PAGE_SIZE)));
+
+        createOrders(30);
+        AtomicReference<Page<OrderDTO>> fullPage = new AtomicReference<>();
+        long fullPageStatements = countStatements(() -> {
+            fullPage.set(orderService.getAllOrders(PageRequest.of(0, PAGE_SIZE)));
+            return fullPage.get();
+        });
+
+        assertThat(fullPage.get().getContent()).hasSize(PAGE_SIZE);
+        assertThat(fullPage.get().getContent()).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(1));
+        // page select + count + one IN query for all items of the page
+        assertThat(fullPageStatements).isBetween(1L, 3L);
+        assertThat(smallPageStatements).isLessThanOrEqualTo(fullPageStatements);
+    }
+
+    @Test
+    void shouldListOrdersByStatusAndCustomerWithConstantNumberOfStatements() {
+        createOrders(25);
+
+        long byStatus = countStatements(() -> orderService.getOrdersByStatus(OrderStatus.PENDING, PageRequest.of(1, PAGE_SIZE)));
+        long byCustomer = countStatements(() -> orderService.getOrdersByCustomerEmail(
+                TestConstants.TEST_CUSTOMER_EMAIL, PageRequest.of(1, PAGE_SIZE)));
+        long scroll = countStatements(() -> orderService.getOrdersAfter(null, PAGE_SIZE));
+
+        assertThat(byStatus).isLessThanOrEqualTo(3);
+        assertThat(byCustomer).isLessThanOrEqualTo(3);
+        assertThat(scroll).isLessThanOrEqualTo(2);
+    }
+
+    private void createOrders(int count) {
+        long existing = orderRepository.count();
+        for (int i = 0; i < count; i++) {
+            orderRepository.save(TestDataFactory.createOrder(null, "ORD-QC-" + (existing + i), OrderStatus.PENDING));
+        }
+        // Start every measurement from an empty persistence context, like a fresh request
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Supplier<?> action) {
+        entityManager.clear();
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
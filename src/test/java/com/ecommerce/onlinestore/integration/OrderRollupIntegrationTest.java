@@ -0,0 +1,170 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderReportDTO;
+import com.ecommerce.onlinestore.model.dto.ProductSalesDTO;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.OrderRollupRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.service.ReportService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderRollupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderRollupRepository rollupRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> cartIds = new ArrayList<>();
+    private Product laptop;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        clearRollups();
+        laptop = productRepository.save(
+                TestDataFactory.createProduct(null, "Rollup Laptop", "Electronics", BigDecimal.valueOf(100), 50));
+        mouse = productRepository.save(
+                TestDataFactory.createProduct(null, "Rollup Mouse", "Electronics", BigDecimal.TEN, 50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        clearRollups();
+        cartRepository.deleteAllById(cartIds);
+        productRepository.deleteAll(List.of(laptop, mouse));
+    }
+
+    @Test
+    void shouldKeepRollupsInStepWithOrderChanges() {
+        OrderDTO delivered = placeOrder("rollup-1", laptop, 2);
+        OrderDTO cancelled = placeOrder("rollup-2", mouse, 5);
+        OrderDTO bulkCancelled = placeOrder("rollup-3", laptop, 1);
+        OrderDTO deleted = placeOrder("rollup-4", mouse, 3);
+        placeOrder("rollup-5", mouse, 4);
+        for (OrderStatus status : List.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.SHIPPED,
+                OrderStatus.DELIVERED)) {
+            orderService.updateOrderStatus(delivered.getId(), status);
+        }
+        orderService.cancelOrder(cancelled.getId());
+        orderService.transitionOrders(BulkStatusTransitionRequest.builder()
+                .orderIds(List.of(bulkCancelled.getId()))
+                .targetStatus(OrderStatus.CANCELLED)
+                .build());
+        orderService.deleteOrder(deleted.getId());
+
+        LocalDate today = LocalDate.now();
+        OrderReportDTO deliveredReport = reportService.getOrderReport(OrderStatus.DELIVERED, today, today);
+        assertThat(deliveredReport.getOrderCount()).isEqualTo(1);
+        assertThat(deliveredReport.getRevenue()).isEqualByComparingTo("200.00");
+        assertThat(deliveredReport.getRevenue()).isEqualByComparingTo(orderRepository.getTotalRevenueInPeriod(
+                today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(reportService.getOrderReport(status).getOrderCount())
+                    .as("orders in %s", status)
+                    .isEqualTo(orderRepository.countByStatus(status));
+        }
+        assertThat(reportService.getTopSellingProducts(10)).containsExactly(
+                new ProductSalesDTO(mouse.getId(), 4L),
+                new ProductSalesDTO(laptop.getId(), 2L));
+
+        List<ProductSalesDTO> maintained = reportService.getTopSellingProducts(10);
+        clearRollups();
+        reportService.rebuildRollups();
+
+        assertThat(reportService.getTopSellingProducts(10)).isEqualTo(maintained);
+        assertThat(reportService.getOrderReport(OrderStatus.DELIVERED, today, today)).isEqualTo(deliveredReport);
+        assertThat(reportService.getOrderReport(OrderStatus.CANCELLED).getOrderCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldServeReportsFromTheRollups() throws Exception {
+        placeOrder("rollup-6", laptop, 3);
+        placeOrder("rollup-7", mouse, 1);
+
+        mockMvc.perform(get("/api/reports/orders")
+                        .param("status", "PENDING")
+                        .param("from", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount", is(2)))
+                .andExpect(jsonPath("$.revenue", is(310.0)));
+
+        mockMvc.perform(get("/api/reports/top-products").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(laptop.getId()))
+                .andExpect(jsonPath("$[0].unitsSold", is(3)));
+
+        mockMvc.perform(get("/api/reports/orders")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private OrderDTO placeOrder(String sessionId, Product product, int quantity) {
+        CartDTO cart = cartService.createCart(sessionId);
+        cartIds.add(cart.getId());
+        cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), quantity));
+        return orderService.createOrder(TestDataFactory.createCreateOrderRequest(cart.getId()));
+    }
+
+    private void clearRollups() {
+        rollupRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM product_sales_rollups");
+    }
+}
@@ -2,7 +2,9 @@ package com.ecommerce.onlinestore.integration;
 
 import com.ecommerce.onlinestore.model.entity.Product;
 import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.util.JsonUtils;
 import com.ecommerce.onlinestore.util.TestDataFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +56,41 @@ class ProductIntegrationTest {
                 .andExpect(jsonPath("$.content[3].name", is("Wireless Headphones")));
     }
 
+    @Test
+    void shouldScrollProductsWithCursor() throws Exception {
+        String response = mockMvc.perform(get("/api/products/scroll")
+                        .param("size", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].name", is("Laptop")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String cursor = JsonUtils.fromJson(response, JsonNode.class).path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/products/scroll")
+                        .param("cursor", cursor)
+                        .param("size", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Wireless Headphones")))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/products/scroll")
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetProductById() throws Exception {
         Product product = sampleProducts.get(0);
@@ -92,6 +129,24 @@ class ProductIntegrationTest {
                 .andExpect(jsonPath("$.content[0].name", is("Laptop")));
     }
 
+    @Test
+    void shouldSearchProductsByKeyword() throws Exception {
+        mockMvc.perform(get("/api/products/search/keyword")
+                        .param("keyword", "wireless")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Wireless Headphones")));
+
+        mockMvc.perform(get("/api/products/search/keyword")
+                        .param("keyword", "description")
+                        .param("size", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(4)))
+                .andExpect(jsonPath("$.content", hasSize(3)));
+    }
+
     @Test
     void shouldFilterProductsByPriceRange() throws Exception {
         mockMvc.perform(get("/api/products/filter/price")
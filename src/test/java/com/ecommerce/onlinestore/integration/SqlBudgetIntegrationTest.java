@@ -0,0 +1,133 @@
+package com.ecommerce.onlinestore.integration;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.util.JsonUtils;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ecommerce.onlinestore.util.SqlBudget.noStatementRepeatedMoreThan;
+import static com.ecommerce.onlinestore.util.SqlBudget.noStatementStartingWith;
+import static com.ecommerce.onlinestore.util.SqlBudget.statementsAtMost;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Product> products = new ArrayList<>();
+    private CartDTO cart;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        for (int i = 0; i < 4; i++) {
+            products.add(productRepository.save(
+                    TestDataFactory.createProduct(null, "Budget Item " + i, "Electronics", BigDecimal.TEN, 20)));
+        }
+        cart = cartService.createCart("sql-budget");
+        for (Product product : products) {
+            cart = cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), 1));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        cartRepository.deleteById(cart.getId());
+        products.forEach(product ->
+                jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", product.getId()));
+        productRepository.deleteAll(products);
+    }
+
+    @Test
+    void shouldListOrdersWithinBudget() throws Exception {
+        for (int i = 0; i < 15; i++) {
+            orderRepository.save(TestDataFactory.createOrder(null, "ORD-SQL-" + i, OrderStatus.PENDING));
+        }
+
+        // page select + count + one IN query for the items of the page
+        mockMvc.perform(get("/api/orders").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern("db;dur=\\d+\\.\\d{3};desc=\"3 statements\"")))
+                .andExpect(statementsAtMost(3));
+    }
+
+    @Test
+    void shouldReadCartWithoutStatementPerItem() throws Exception {
+        mockMvc.perform(get("/api/carts/{cartId}", cart.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void shouldCheckOutWithoutStatementPerItem() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(TestDataFactory.createCreateOrderRequest(cart.getId()))))
+                .andExpect(status().isOk())
+                // cart fetch join, shard mode lookup, stock update, order and item inserts, outbox event,
+                // both rollup upserts, cart update and item delete - all batched
+                .andExpect(statementsAtMost(10))
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    void shouldCheckOutShardedProductsWithoutTouchingTheirRows() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                products.forEach(product -> productRepository.enableStockShards(product.getId(), 4)));
+
+        // The hot products row stays unlocked, only the shard counters are updated
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtils.toJson(TestDataFactory.createCreateOrderRequest(cart.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(noStatementStartingWith("UPDATE products"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.onlinestore.inventory;
+
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.config.InventoryProperties;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationsTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Mock
+    private ProductCache productCache;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private InventoryReservations reservations;
+
+    @BeforeEach
+    void setUp() {
+        InventoryProperties properties = new InventoryProperties();
+        properties.setHoldTtl(Duration.ofMinutes(15));
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.SECONDS, 64, nanoTime::get);
+        reservations = new InventoryReservations(productCache, properties, new SimpleMeterRegistry(), wheel);
+    }
+
+    @Test
+    void shouldRejectHoldBeyondStockNotHeldByOthers() {
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 7, 10);
+
+        assertThatThrownBy(() -> reservations.hold(2L, PRODUCT_ID, "Laptop", 4, 10))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Requested: 4, Available: 3");
+
+        reservations.hold(2L, PRODUCT_ID, "Laptop", 3, 10);
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldAdjustExistingHoldByDelta() {
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 7, 10);
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 10, 10);
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 2, 10);
+
+        assertThat(reservations.heldBy(1L, PRODUCT_ID)).isEqualTo(2);
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isEqualTo(2);
+
+        reservations.release(1L, PRODUCT_ID);
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isZero();
+    }
+
+    @Test
+    void shouldExpireHoldsAfterTtlUnlessRenewed() {
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 3, 10);
+        reservations.hold(2L, PRODUCT_ID, "Laptop", 2, 10);
+
+        advance(Duration.ofMinutes(10));
+        reservations.hold(2L, PRODUCT_ID, "Laptop", 2, 10); // продлевает удержание второй корзины
+
+        advance(Duration.ofMinutes(6));
+        assertThat(reservations.heldBy(1L, PRODUCT_ID)).isZero();
+        assertThat(reservations.heldBy(2L, PRODUCT_ID)).isEqualTo(2);
+
+        advance(Duration.ofMinutes(10));
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isZero();
+    }
+
+    @Test
+    void shouldRestoreHoldsWhenTransactionRollsBack() {
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 3, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reservations.hold(1L, PRODUCT_ID, "Laptop", 8, 10);
+            reservations.hold(2L, PRODUCT_ID, "Laptop", 2, 10);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(reservations.heldBy(1L, PRODUCT_ID)).isEqualTo(3);
+        assertThat(reservations.heldBy(2L, PRODUCT_ID)).isZero();
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRestoreReleasedHoldsWhenTransactionRollsBack() {
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 6, 10);
+        reservations.hold(2L, PRODUCT_ID, "Laptop", 4, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reservations.release(1L, PRODUCT_ID);
+            reservations.hold(2L, PRODUCT_ID, "Laptop", 10, 10);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(reservations.heldBy(1L, PRODUCT_ID)).isEqualTo(6);
+        assertThat(reservations.heldBy(2L, PRODUCT_ID)).isEqualTo(4);
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldPutBackHoldsOfACartThatCannotBeHeldInFull() {
+        Long otherProductId = 2L;
+        when(productCache.getById(PRODUCT_ID)).thenReturn(product(PRODUCT_ID, 10));
+        when(productCache.getById(otherProductId)).thenReturn(product(otherProductId, 1));
+        reservations.hold(1L, PRODUCT_ID, "Laptop", 2, 10);
+        reservations.hold(2L, otherProductId, "Phone", 1, 1);
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(PRODUCT_ID, 5);
+        quantities.put(otherProductId, 1);
+        assertThatThrownBy(() -> reservations.ensureHeld(1L, quantities))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(reservations.heldBy(1L, PRODUCT_ID)).isEqualTo(2);
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isEqualTo(2);
+        assertThat(reservations.heldBy(1L, otherProductId)).isZero();
+    }
+
+    @Test
+    void shouldNeverHoldMoreThanStockUnderContention() throws Exception {
+        int stock = 1_000;
+        int carts = 5_000;
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long cartId = 1; cartId <= carts; cartId++) {
+            long id = cartId;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    reservations.hold(id, PRODUCT_ID, "Laptop", 1, stock);
+                    granted.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    // распродано
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(granted.get()).isEqualTo(stock);
+        assertThat(reservations.heldQuantity(PRODUCT_ID)).isEqualTo(stock);
+    }
+
+    private static ProductDTO product(Long id, int stockQuantity) {
+        return ProductDTO.builder().id(id).name("Product " + id).stockQuantity(stockQuantity).build();
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+        reservations.expireDueHolds();
+    }
+}
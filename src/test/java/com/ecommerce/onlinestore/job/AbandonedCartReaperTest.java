@@ -0,0 +1,92 @@
+package com.ecommerce.onlinestore.job;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.cart.reaper.initial-chunk-size=3")
+@ActiveProfiles("test")
+class AbandonedCartReaperTest {
+
+    @Autowired
+    private AbandonedCartReaper reaper;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> freshCartIds = new ArrayList<>();
+    private Product product;
+
+    @AfterEach
+    void tearDown() {
+        cartRepository.deleteAllById(freshCartIds);
+        productRepository.delete(product);
+    }
+
+    @Test
+    void shouldPurgeOnlyExpiredCartsInChunks() {
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Reaper Item", "Electronics", BigDecimal.TEN, 100));
+        List<Long> expiredCartIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expiredCartIds.add(createCartWithItem("expired-" + i));
+        }
+        for (int i = 0; i < 2; i++) {
+            freshCartIds.add(createCartWithItem("fresh-" + i));
+        }
+        for (Long cartId : expiredCartIds) {
+            jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(3)), cartId);
+        }
+        double purgedBefore = meterRegistry.get("cart.reaper.purged").tag("table", "carts").counter().count();
+
+        long purged = reaper.purgeExpiredCarts();
+
+        assertThat(purged).isEqualTo(7);
+        assertThat(cartRepository.findAllById(expiredCartIds)).isEmpty();
+        assertThat(cartRepository.findAllById(freshCartIds)).hasSize(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE product_id = ?", Long.class, product.getId())).isEqualTo(2);
+        assertThat(meterRegistry.get("cart.reaper.purged").tag("table", "carts").counter().count() - purgedBefore)
+                .isEqualTo(7);
+        assertThat(meterRegistry.get("cart.reaper.chunk").timer().count()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("cart.reaper.backlog").gauge().value()).isZero();
+    }
+
+    private Long createCartWithItem(String sessionId) {
+        CartDTO cart = cartService.createCart(sessionId);
+        cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), 1));
+        return cart.getId();
+    }
+}
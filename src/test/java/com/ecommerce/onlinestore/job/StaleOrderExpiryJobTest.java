@@ -0,0 +1,160 @@
+package com.ecommerce.onlinestore.job;
+
+import com.ecommerce.onlinestore.config.OrderExpiryProperties;
+import com.ecommerce.onlinestore.inventory.TimingWheel;
+import com.ecommerce.onlinestore.model.entity.Order;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.outbox.OrderEvent;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.order-expiry.chunk-size=2")
+@ActiveProfiles("test")
+class StaleOrderExpiryJobTest {
+
+    @Autowired
+    private StaleOrderExpiryJob job;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Expiry Item", "Electronics", BigDecimal.TEN, 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        productRepository.delete(product);
+    }
+
+    @Test
+    void shouldCancelStalePendingOrdersFromTheBacklog() {
+        Long[] stale = new Long[5];
+        for (int i = 0; i < stale.length; i++) {
+            stale[i] = createOrder(OrderStatus.PENDING, 3, LocalDateTime.now().minusHours(2));
+        }
+        Long fresh = createOrder(OrderStatus.PENDING, 3, LocalDateTime.now().minusMinutes(5));
+        Long confirmed = createOrder(OrderStatus.CONFIRMED, 3, LocalDateTime.now().minusHours(2));
+        Long claimed = createOrder(OrderStatus.PENDING, 3, LocalDateTime.now().minusHours(2));
+        jdbcTemplate.update("UPDATE orders SET claim_token = 'token', lease_expires_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), claimed);
+        double expiredBefore = meterRegistry.get("order.expiry.expired").tag("source", "scan").counter().count();
+        double unitsBefore = meterRegistry.get("order.expiry.units.released").counter().count();
+
+        long cancelled = job.expireBacklog();
+
+        assertThat(cancelled).isEqualTo(5);
+        assertThat(orderRepository.findAllById(List.of(stale)))
+                .allMatch(order -> order.getStatus() == OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(fresh).orElseThrow().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(orderRepository.findById(confirmed).orElseThrow().getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(orderRepository.findById(claimed).orElseThrow().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(25);
+        assertThat(meterRegistry.get("order.expiry.expired").tag("source", "scan").counter().count() - expiredBefore)
+                .isEqualTo(5);
+        assertThat(meterRegistry.get("order.expiry.units.released").counter().count() - unitsBefore)
+                .isEqualTo(15);
+        assertThat(job.expireBacklog()).isZero();
+    }
+
+    @Test
+    void shouldCancelTrackedOrdersWhenTheirDeadlineTicks() {
+        AtomicLong nanoTime = new AtomicLong();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        StaleOrderExpiryJob wheelJob = new StaleOrderExpiryJob(orderService, orderRepository,
+                new OrderExpiryProperties(), registry,
+                new TimingWheel(1, TimeUnit.SECONDS, 64, nanoTime::get));
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(29);
+        Long orderId = createOrder(OrderStatus.PENDING, 4, createdAt);
+        Long paidId = createOrder(OrderStatus.PENDING, 4, createdAt);
+        wheelJob.onEvent(createdEvent(orderId, createdAt));
+        wheelJob.onEvent(createdEvent(paidId, createdAt));
+        orderService.updateOrderStatus(paidId, OrderStatus.CONFIRMED);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(wheelJob.expireDueOrders()).isZero();
+        assertThat(registry.get("order.expiry.wheel.tracked").gauge().value()).isEqualTo(2);
+
+        // The deadline passes for real before the wheel fires, so the lock query sees a stale order
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id IN (?, ?)",
+                Timestamp.valueOf(createdAt.minusMinutes(2)), orderId, paidId);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        assertThat(wheelJob.expireDueOrders()).isEqualTo(1);
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(paidId).orElseThrow().getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(14);
+        assertThat(registry.get("order.expiry.expired").tag("source", "wheel").counter().count()).isEqualTo(1);
+        assertThat(registry.get("order.expiry.units.released").counter().count()).isEqualTo(4);
+        assertThat(registry.get("order.expiry.wheel.tracked").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldLeaveDeadlinesBeyondTheHorizonToTheScan() {
+        AtomicLong nanoTime = new AtomicLong();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        OrderExpiryProperties longTimeout = new OrderExpiryProperties();
+        longTimeout.setPendingTimeout(Duration.ofHours(24));
+        StaleOrderExpiryJob wheelJob = new StaleOrderExpiryJob(orderService, orderRepository, longTimeout, registry,
+                new TimingWheel(1, TimeUnit.SECONDS, 64, nanoTime::get));
+
+        wheelJob.onEvent(createdEvent(1L, LocalDateTime.now()));
+
+        assertThat(registry.get("order.expiry.wheel.tracked").gauge().value()).isZero();
+    }
+
+    private Long createOrder(OrderStatus status, int quantity, LocalDateTime createdAt) {
+        Order order = TestDataFactory.createOrder(null, null, status);
+        order.getOrderItems().get(0).setProductId(product.getId());
+        order.getOrderItems().get(0).setQuantity(quantity);
+        Long orderId = orderRepository.save(order).getId();
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), orderId);
+        return orderId;
+    }
+
+    private static OrderEvent createdEvent(Long orderId, LocalDateTime occurredAt) {
+        return new OrderEvent(1L, OrderEventType.ORDER_CREATED, orderId, "ORD-" + orderId, OrderStatus.PENDING, null,
+                BigDecimal.TEN, null, occurredAt);
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.onlinestore.outbox;
+
+import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
+import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.entity.OutboxEvent;
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
+import com.ecommerce.onlinestore.model.enums.OrderStatus;
+import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderRepository;
+import com.ecommerce.onlinestore.repository.OutboxEventRepository;
+import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.service.CartService;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> cartIds = new ArrayList<>();
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        // Events left by other test classes, their dispatcher is disabled too
+        outboxEventRepository.deleteAll();
+        listener.reset();
+        product = productRepository.save(
+                TestDataFactory.createProduct(null, "Outbox Item", "Electronics", BigDecimal.TEN, 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        cartRepository.deleteAllById(cartIds);
+        productRepository.delete(product);
+    }
+
+    @Test
+    void shouldDeliverLifecycleEventsInOrder() {
+        OrderDTO order = placeOrder("outbox-1");
+        orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED);
+        orderService.cancelOrder(order.getId());
+
+        assertThat(dispatcher.dispatchPending()).isEqualTo(3);
+
+        assertThat(listener.events)
+                .extracting(OrderEvent::type, OrderEvent::orderId, OrderEvent::status, OrderEvent::previousStatus)
+                .containsExactly(
+                        tuple(OrderEventType.ORDER_CREATED, order.getId(), OrderStatus.PENDING, null),
+                        tuple(OrderEventType.ORDER_STATUS_CHANGED, order.getId(), OrderStatus.CONFIRMED, OrderStatus.PENDING),
+                        tuple(OrderEventType.ORDER_CANCELLED, order.getId(), OrderStatus.CANCELLED, OrderStatus.CONFIRMED));
+        assertThat(listener.events).extracting(OrderEvent::eventId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldHoldBackLaterEventsOfAnOrderUntilTheFailedOneIsDelivered() {
+        OrderDTO failing = placeOrder("outbox-failing");
+        orderService.updateOrderStatus(failing.getId(), OrderStatus.CONFIRMED);
+        OrderDTO other = placeOrder("outbox-other");
+        listener.failOnce.add(failing.getId());
+
+        assertThat(dispatcher.dispatchPending()).isEqualTo(1);
+        assertThat(listener.events).extracting(OrderEvent::orderId).containsExactly(other.getId());
+
+        OutboxEvent failed = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType() == OrderEventType.ORDER_CREATED)
+                .findFirst()
+                .orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("listener unavailable");
+
+        // Backing off: neither the failed event nor the one behind it is due
+        assertThat(dispatcher.dispatchPending()).isZero();
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = DATEADD('SECOND', -1, CURRENT_TIMESTAMP)");
+        assertThat(dispatcher.dispatchPending()).isEqualTo(2);
+        assertThat(listener.events)
+                .extracting(OrderEvent::orderId, OrderEvent::type)
+                .containsExactly(
+                        tuple(other.getId(), OrderEventType.ORDER_CREATED),
+                        tuple(failing.getId(), OrderEventType.ORDER_CREATED),
+                        tuple(failing.getId(), OrderEventType.ORDER_STATUS_CHANGED));
+    }
+
+    private OrderDTO placeOrder(String sessionId) {
+        CartDTO cart = cartService.createCart(sessionId);
+        cartIds.add(cart.getId());
+        cartService.addItemToCart(cart.getId(), new AddToCartRequest(product.getId(), 1));
+        return orderService.createOrder(TestDataFactory.createCreateOrderRequest(cart.getId()));
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements OrderEventListener {
+
+        final List<OrderEvent> events = new CopyOnWriteArrayList<>();
+        final Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onEvent(OrderEvent event) {
+            if (failOnce.remove(event.orderId())) {
+                throw new IllegalStateException("listener unavailable");
+            }
+            events.add(event);
+        }
+
+        void reset() {
+            events.clear();
+            failOnce.clear();
+        }
+    }
+}
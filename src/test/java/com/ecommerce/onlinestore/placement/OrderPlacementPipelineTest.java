@@ -0,0 +1,135 @@
+package com.ecommerce.onlinestore.placement;
+
+import com.ecommerce.onlinestore.config.OrderPipelineProperties;
+import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
+import com.ecommerce.onlinestore.model.dto.OrderDTO;
+import com.ecommerce.onlinestore.model.dto.OrderPlacementDTO;
+import com.ecommerce.onlinestore.model.enums.OrderPlacementStatus;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
+import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
+import com.ecommerce.onlinestore.service.OrderService;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPlacementPipelineTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderPipelineProperties properties;
+    private OrderPlacementPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderPipelineProperties();
+        properties.setBatchSize(3);
+        properties.setMaxBatchDelay(Duration.ofMillis(500));
+        pipeline = new OrderPlacementPipeline(orderService, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    void shouldPlaceQueuedOrdersInOneBatch() throws Exception {
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> placed(request.getCartId())).toList();
+        });
+        pipeline.start();
+
+        List<String> trackingNumbers = List.of(1L, 2L, 3L).stream()
+                .map(cartId -> pipeline.submit(TestDataFactory.createCreateOrderRequest(cartId)))
+                .map(OrderPlacementDTO::getTrackingNumber)
+                .toList();
+
+        for (int i = 0; i < trackingNumbers.size(); i++) {
+            OrderPlacementDTO result = pipeline.awaitPlacement(trackingNumbers.get(i)).get(5, TimeUnit.SECONDS);
+            assertThat(result.getStatus()).isEqualTo(OrderPlacementStatus.PLACED);
+            assertThat(result.getOrder().getId()).isEqualTo(i + 1L);
+            assertThat(result.getTrackingNumber()).isEqualTo(trackingNumbers.get(i));
+        }
+        verify(orderService, times(1)).createOrders(anyList());
+        assertThat(pipeline.getPlacement(trackingNumbers.get(0)).getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldPlaceOrdersOneByOneWhenBatchFails() throws Exception {
+        CreateOrderRequest first = TestDataFactory.createCreateOrderRequest(1L);
+        CreateOrderRequest second = TestDataFactory.createCreateOrderRequest(2L);
+        when(orderService.createOrders(List.of(first, second)))
+                .thenThrow(new InsufficientStockException("Insufficient stock for product 'Laptop'"));
+        when(orderService.createOrder(first)).thenReturn(OrderDTO.builder().id(1L).build());
+        when(orderService.createOrder(second))
+                .thenThrow(new InsufficientStockException("Laptop", 1, 0));
+        OrderPlacementPipeline.Placement placedOrder =
+                new OrderPlacementPipeline.Placement("TRK-1", first, LocalDateTime.now());
+        OrderPlacementPipeline.Placement rejectedOrder =
+                new OrderPlacementPipeline.Placement("TRK-2", second, LocalDateTime.now());
+
+        pipeline.process(List.of(placedOrder, rejectedOrder));
+
+        assertThat(placedOrder.result().get(1, TimeUnit.SECONDS).getStatus()).isEqualTo(OrderPlacementStatus.PLACED);
+        OrderPlacementDTO rejected = rejectedOrder.result().get(1, TimeUnit.SECONDS);
+        assertThat(rejected.getStatus()).isEqualTo(OrderPlacementStatus.REJECTED);
+        assertThat(rejected.getMessage()).contains("Insufficient stock");
+    }
+
+    @Test
+    void shouldEvictOldestResultsBeyondMaximumSize() throws Exception {
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> placed(request.getCartId())).toList();
+        });
+        properties.setResultMaximumSize(2);
+        OrderPlacementPipeline bounded = new OrderPlacementPipeline(orderService, properties, new SimpleMeterRegistry());
+        bounded.start();
+        try {
+            for (long cartId = 1; cartId <= 6; cartId++) {
+                bounded.submit(TestDataFactory.createCreateOrderRequest(cartId));
+            }
+            verify(orderService, timeout(5_000).times(2)).createOrders(anyList());
+
+            assertThat(bounded.retainedPlacements()).isLessThanOrEqualTo(2);
+        } finally {
+            bounded.stop();
+        }
+    }
+
+    @Test
+    void shouldRejectSubmissionsWhenDisabled() {
+        properties.setEnabled(false);
+        pipeline.start();
+
+        assertThatThrownBy(() -> pipeline.submit(TestDataFactory.createCreateOrderRequest(1L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("disabled");
+        verifyNoInteractions(orderService);
+    }
+
+    private static OrderPlacementDTO placed(Long orderId) {
+        return OrderPlacementDTO.builder()
+                .status(OrderPlacementStatus.PLACED)
+                .order(OrderDTO.builder().id(orderId).build())
+                .build();
+    }
+}
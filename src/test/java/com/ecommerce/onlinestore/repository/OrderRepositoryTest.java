@@ -7,7 +7,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +26,9 @@ class OrderRepositoryTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Order testOrder;
 
     @BeforeEach
@@ -61,4 +66,22 @@ class OrderRepositoryTest {
         assertThat(orders.getContent().get(0).getCustomerInfo().getCustomerEmail())
                 .isEqualTo("test@example.com");
     }
+
+    @Test
+    void shouldSeekOrdersNewestFirst() {
+        orderRepository.save(TestDataFactory.createOrder(null, "ORD-124", OrderStatus.PENDING));
+        // Read the cursor values back as stored, the way a later request would see them
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Order> firstPage = orderRepository.seekFirstByCreatedAt(Limit.of(1));
+
+        assertThat(firstPage).extracting(Order::getOrderNumber).containsExactly("ORD-124");
+
+        Order newer = firstPage.get(0);
+        List<Order> nextPage = orderRepository.seekByCreatedAtBefore(
+                newer.getCreatedAt(), newer.getId(), Limit.of(1));
+
+        assertThat(nextPage).extracting(Order::getOrderNumber).containsExactly("ORD-123");
+    }
 }
@@ -6,12 +6,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +26,9 @@ class ProductRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private List<Product> sampleProducts;
 
     @BeforeEach
@@ -107,4 +114,80 @@ class ProductRepositoryTest {
         assertThat(products)
                 .allMatch(product -> product.getStockQuantity() > 10);
     }
+
+    @Test
+    void shouldSeekProductsByNameAndId() {
+        List<Product> firstPage = productRepository.seekFirstByName(Limit.of(2));
+
+        assertThat(firstPage).extracting(Product::getName)
+                .containsExactly("Laptop", "Programming Book");
+
+        Product last = firstPage.get(1);
+        List<Product> nextPage = productRepository.seekByNameAfter(last.getName(), last.getId(), Limit.of(2));
+
+        assertThat(nextPage).extracting(Product::getName)
+                .containsExactly("Smartphone", "Wireless Headphones");
+    }
+
+    @Test
+    void shouldDecrementStockOnlyWhereEnoughIsAvailable() {
+        Product laptop = sampleProducts.get(0);      // stock 10
+        Product smartphone = sampleProducts.get(1);  // stock 15
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(laptop.getId(), 4);
+        quantities.put(smartphone.getId(), 16);
+
+        int[] results = productRepository.decrementStock(quantities);
+
+        assertThat(results).containsExactly(1, 0);
+        assertThat(productRepository.findById(laptop.getId()).orElseThrow().getStockQuantity()).isEqualTo(6);
+        assertThat(productRepository.findById(smartphone.getId()).orElseThrow().getStockQuantity()).isEqualTo(15);
+    }
+
+    @Test
+    void shouldIncrementStockInBatch() {
+        Product laptop = sampleProducts.get(0);
+
+        int[] results = productRepository.incrementStock(Map.of(laptop.getId(), 5, 999L, 1));
+
+        assertThat(results).hasSize(2);
+        assertThat(productRepository.findById(laptop.getId()).orElseThrow().getStockQuantity()).isEqualTo(15);
+    }
+
+    @Test
+    void shouldDecrementShardedStockAcrossShards() {
+        Product laptop = sampleProducts.get(0);      // stock 10
+        productRepository.enableStockShards(laptop.getId(), 4);
+
+        // 3 + 3 + 2 + 2 units: the third request of 3 can no longer be served by a single shard
+        int[] results = productRepository.decrementStock(Map.of(laptop.getId(), 3));
+        int[] second = productRepository.decrementStock(Map.of(laptop.getId(), 3));
+        int[] third = productRepository.decrementStock(Map.of(laptop.getId(), 3));
+        int[] rejected = productRepository.decrementStock(Map.of(laptop.getId(), 2));
+
+        assertThat(results).containsExactly(1);
+        assertThat(second).containsExactly(1);
+        assertThat(third).containsExactly(1);
+        assertThat(rejected).containsExactly(0);
+        assertThat(productRepository.findById(laptop.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+
+        assertThat(productRepository.refreshShardedStockTotals()).isEqualTo(1);
+        entityManager.clear();
+        assertThat(productRepository.findById(laptop.getId()).orElseThrow().getStockQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMergeStockShardsBack() {
+        Product laptop = sampleProducts.get(0);
+        productRepository.enableStockShards(laptop.getId(), 3);
+        productRepository.incrementStock(Map.of(laptop.getId(), 5));
+        productRepository.decrementStock(Map.of(laptop.getId(), 2));
+
+        productRepository.disableStockShards(laptop.getId());
+
+        Product merged = productRepository.findById(laptop.getId()).orElseThrow();
+        assertThat(merged.getStockShards()).isZero();
+        assertThat(merged.getStockQuantity()).isEqualTo(13);
+        assertThat(productRepository.decrementStock(Map.of(laptop.getId(), 13))).containsExactly(1);
+    }
 }
@@ -0,0 +1,68 @@
+package com.ecommerce.onlinestore.search;
+
+import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.util.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex();
+        TestDataFactory.createSampleProducts().forEach(searchIndex::index);
+        searchIndex.markReady();
+    }
+
+    @Test
+    void shouldMatchTokenPrefixesInNameAndDescription() {
+        assertThat(searchIndex.search("smart")).containsExactly(2L);
+        assertThat(searchIndex.search("LAPTOP")).containsExactly(1L);
+        assertThat(searchIndex.search("description")).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void shouldIntersectMultipleTokens() {
+        assertThat(searchIndex.search("wireless head")).containsExactly(4L);
+        assertThat(searchIndex.search("wireless laptop")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEmptyResultForQueryWithoutTokens() {
+        assertThat(searchIndex.search("  -- ")).isEmpty();
+    }
+
+    @Test
+    void shouldReindexUpdatedProduct() {
+        Product laptop = TestDataFactory.createProduct(1L, "Gaming Notebook", "Electronics", BigDecimal.valueOf(999.99), 10);
+
+        searchIndex.index(laptop);
+
+        assertThat(searchIndex.search("laptop")).isEmpty();
+        assertThat(searchIndex.search("notebook")).containsExactly(1L);
+        assertThat(searchIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRemoveProduct() {
+        searchIndex.remove(2L);
+
+        assertThat(searchIndex.search("smartphone")).isEmpty();
+        assertThat(searchIndex.search("description")).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    void shouldDrainStaleIdsOnce() {
+        searchIndex.markStale(List.of(1L, 3L));
+
+        assertThat(searchIndex.drainStale()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(searchIndex.drainStale()).isEmpty();
+    }
+}
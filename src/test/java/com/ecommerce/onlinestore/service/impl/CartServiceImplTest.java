@@ -1,10 +1,21 @@
 package com.ecommerce.onlinestore.service.impl;
 
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.config.ProductCacheProperties;
+import com.ecommerce.onlinestore.inventory.InventoryReservations;
 import com.ecommerce.onlinestore.mapper.CartMapper;
+import com.ecommerce.onlinestore.mapper.ProductMapper;
+import com.ecommerce.onlinestore.metrics.StoreMetrics;
 import com.ecommerce.onlinestore.model.dto.AddToCartRequest;
 import com.ecommerce.onlinestore.model.dto.CartDTO;
+import com.ecommerce.onlinestore.model.dto.CartItemOperation;
+import com.ecommerce.onlinestore.model.dto.ProductDTO;
+import com.ecommerce.onlinestore.model.dto.UpdateCartItemRequest;
 import com.ecommerce.onlinestore.model.entity.Cart;
+import com.ecommerce.onlinestore.model.entity.CartItem;
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.CartItemOperationType;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
 import com.ecommerce.onlinestore.model.exception.CartNotFoundException;
 import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
 import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
@@ -15,16 +26,21 @@ import com.ecommerce.onlinestore.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,7 +56,12 @@ class CartServiceImplTest {
     @Mock
     private CartMapper cartMapper;
 
-    @InjectMocks
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private InventoryReservations inventoryReservations;
+
     private CartServiceImpl cartService;
 
     private Cart testCart;
@@ -52,6 +73,11 @@ class CartServiceImplTest {
         testCart = TestDataFactory.createCart(1L, TestConstants.TEST_SESSION_ID);
         testProduct = TestDataFactory.createProduct(1L, "Laptop", "Electronics", BigDecimal.valueOf(999.99), 10);
         testCartDTO = new CartDTO();
+
+        ProductCache productCache = new ProductCache(productRepository, productMapper,
+                new ProductCacheProperties(), new SimpleMeterRegistry());
+        cartService = new CartServiceImpl(cartRepository, productRepository, cartMapper, productCache,
+                inventoryReservations, new StoreMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -91,6 +117,8 @@ class CartServiceImplTest {
 
         when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(testCart));
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productMapper.toDTO(testProduct)).thenReturn(toDTO(testProduct));
+        when(productRepository.getReferenceById(1L)).thenReturn(testProduct);
         when(cartRepository.save(any(Cart.class))).thenReturn(testCart);
         when(cartMapper.toDTO(testCart)).thenReturn(testCartDTO);
 
@@ -99,9 +127,92 @@ class CartServiceImplTest {
         assertThat(result).isNotNull();
         verify(cartRepository).findByIdWithItems(1L);
         verify(productRepository).findById(1L);
+        verify(inventoryReservations).hold(1L, 1L, "Laptop", 2, 10);
         verify(cartRepository).save(any(Cart.class));
     }
 
+    @Test
+    void shouldKeepTotalsFromItemUnitPrice() {
+        testCart.addItem(TestDataFactory.createCartItem(10L, testCart, testProduct, 1));
+        testProduct.setPrice(BigDecimal.ONE); // цена товара изменилась после добавления в корзину
+
+        when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(testCart));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productMapper.toDTO(testProduct)).thenReturn(toDTO(testProduct));
+        when(cartRepository.save(any(Cart.class))).thenReturn(testCart);
+
+        cartService.addItemToCart(1L, new AddToCartRequest(1L, 2));
+        assertThat(testCart.getTotalItems()).isEqualTo(3);
+        assertThat(testCart.getTotalPrice()).isEqualByComparingTo("2999.97");
+
+        cartService.updateCartItem(1L, 10L, new UpdateCartItemRequest(1));
+        assertThat(testCart.getTotalItems()).isEqualTo(1);
+        assertThat(testCart.getTotalPrice()).isEqualByComparingTo("999.99");
+
+        cartService.removeItemFromCart(1L, 10L);
+        assertThat(testCart.getTotalItems()).isZero();
+        assertThat(testCart.getTotalPrice()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void shouldMergeCartsByProduct() {
+        Product phone = TestDataFactory.createProduct(2L, "Phone", "Electronics", BigDecimal.valueOf(499.99), 10);
+        Cart sourceCart = TestDataFactory.createCart(2L, "source-session");
+        sourceCart.addItem(TestDataFactory.createCartItem(20L, sourceCart, testProduct, 2));
+        sourceCart.addItem(TestDataFactory.createCartItem(21L, sourceCart, phone, 1));
+        testCart.addItem(TestDataFactory.createCartItem(10L, testCart, testProduct, 1));
+
+        when(cartRepository.findByIdWithItems(2L)).thenReturn(Optional.of(sourceCart));
+        when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(testCart));
+        when(cartRepository.save(testCart)).thenReturn(testCart);
+
+        cartService.mergeCarts(2L, 1L);
+
+        assertThat(testCart.getItems()).hasSize(2);
+        assertThat(testCart.findItemByProductId(1L)).get().extracting(CartItem::getQuantity).isEqualTo(3);
+        assertThat(testCart.findItemByProductId(2L)).get().extracting(CartItem::getQuantity).isEqualTo(1);
+        assertThat(testCart.getTotalItems()).isEqualTo(4);
+        InOrder holds = inOrder(inventoryReservations);
+        holds.verify(inventoryReservations).releaseAll(2L, List.of(1L, 2L));
+        holds.verify(inventoryReservations).hold(1L, 1L, "Laptop", 3, 10);
+        holds.verify(inventoryReservations).hold(1L, 2L, "Phone", 1, 10);
+        verify(cartRepository).delete(sourceCart);
+    }
+
+    @Test
+    void shouldApplyItemOperationsWithSingleProductLookup() {
+        Product phone = TestDataFactory.createProduct(2L, "Phone", "Electronics", BigDecimal.valueOf(499.99), 10);
+        testCart.addItem(TestDataFactory.createCartItem(10L, testCart, testProduct, 1));
+        List<CartItemOperation> operations = List.of(
+                CartItemOperation.builder().op(CartItemOperationType.ADD).productId(2L).quantity(2).build(),
+                CartItemOperation.builder().op(CartItemOperationType.UPDATE).itemId(10L).quantity(4).build(),
+                CartItemOperation.builder().op(CartItemOperationType.REMOVE).productId(2L).build());
+
+        when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(testCart));
+        when(productRepository.findByIdIn(anyList())).thenReturn(List.of(testProduct, phone));
+        when(cartRepository.save(testCart)).thenReturn(testCart);
+
+        cartService.applyItemOperations(1L, operations);
+
+        assertThat(testCart.getItems()).hasSize(1);
+        assertThat(testCart.getTotalItems()).isEqualTo(4);
+        verify(productRepository).findByIdIn(anyList());
+        verify(cartRepository).save(testCart);
+    }
+
+    @Test
+    void shouldRejectItemOperationForUnknownLine() {
+        List<CartItemOperation> operations = List.of(
+                CartItemOperation.builder().op(CartItemOperationType.UPDATE).itemId(99L).quantity(1).build());
+
+        when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(testCart));
+
+        assertThatThrownBy(() -> cartService.applyItemOperations(1L, operations))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Cart item not found with id: 99");
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
     @Test
     void shouldThrowExceptionWhenProductNotFound() {
         AddToCartRequest request = new AddToCartRequest(999L, 2);
@@ -120,6 +231,7 @@ class CartServiceImplTest {
 
         when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(testCart));
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productMapper.toDTO(testProduct)).thenReturn(toDTO(testProduct));
 
         assertThatThrownBy(() -> cartService.addItemToCart(1L, request))
                 .isInstanceOf(InsufficientStockException.class)
@@ -136,4 +248,9 @@ class CartServiceImplTest {
         verify(cartRepository).findByIdWithItems(1L);
         verify(cartRepository).save(any(Cart.class));
     }
+
+    private ProductDTO toDTO(Product product) {
+        return TestDataFactory.createProductDTO(product.getId(), product.getName(), product.getCategory(),
+                product.getPrice(), product.getStockQuantity());
+    }
 }
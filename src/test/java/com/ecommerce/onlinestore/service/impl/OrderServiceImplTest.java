@@ -1,30 +1,51 @@
 package com.ecommerce.onlinestore.service.impl;
 
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.inventory.InventoryReservations;
 import com.ecommerce.onlinestore.mapper.OrderMapper;
+import com.ecommerce.onlinestore.metrics.StoreMetrics;
 import com.ecommerce.onlinestore.model.dto.CreateOrderRequest;
 import com.ecommerce.onlinestore.model.dto.OrderDTO;
 import com.ecommerce.onlinestore.model.entity.Cart;
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.enums.OrderEventType;
 import com.ecommerce.onlinestore.model.enums.OrderStatus;
 import com.ecommerce.onlinestore.model.exception.CartNotFoundException;
+import com.ecommerce.onlinestore.model.exception.InsufficientStockException;
+import com.ecommerce.onlinestore.outbox.OrderOutbox;
+import com.ecommerce.onlinestore.reporting.OrderRollups;
 import com.ecommerce.onlinestore.repository.CartRepository;
+import com.ecommerce.onlinestore.repository.OrderItemRepository;
 import com.ecommerce.onlinestore.repository.OrderRepository;
 import com.ecommerce.onlinestore.repository.ProductRepository;
 import com.ecommerce.onlinestore.util.TestDataFactory;
 import com.ecommerce.onlinestore.util.TestConstants;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionDTO;
+import com.ecommerce.onlinestore.model.dto.BulkStatusTransitionRequest;
+import com.ecommerce.onlinestore.model.enums.StatusTransitionOutcome;
+import com.ecommerce.onlinestore.repository.OrderStatusRow;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +54,9 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
     @Mock
     private CartRepository cartRepository;
 
@@ -42,6 +66,24 @@ class OrderServiceImplTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private InventoryReservations inventoryReservations;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private OrderRollups orderRollups;
+
+    @Mock
+    private StoreMetrics storeMetrics;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -58,6 +100,7 @@ class OrderServiceImplTest {
         CreateOrderRequest request = TestDataFactory.createCreateOrderRequest(1L);
 
         when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(cart));
+        when(productRepository.decrementStock(any())).thenReturn(new int[]{1});
         when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         when(orderMapper.toDTO(any())).thenReturn(OrderDTO.builder()
                 .id(1L)
@@ -74,6 +117,31 @@ class OrderServiceImplTest {
         assertThat(result.getOrderNumber()).isEqualTo("ORD-123");
         verify(cartRepository).findByIdWithItems(1L);
         verify(orderRepository).save(any());
+        verify(orderOutbox).append(eq(OrderEventType.ORDER_CREATED), any(), isNull());
+        verify(inventoryReservations).ensureHeld(1L, Map.of(1L, 2));
+        verify(productRepository).decrementStock(Map.of(1L, 2));
+        verify(productCache).evict(1L);
+        verify(inventoryReservations).commit(1L, List.of(1L));
+    }
+
+    @Test
+    void shouldRejectOrderWhenConditionalDecrementFails() {
+        // Given
+        Cart cart = TestDataFactory.createCart(1L, TestConstants.TEST_SESSION_ID);
+        Product product = TestDataFactory.createProduct(1L, "Laptop", "Electronics", BigDecimal.valueOf(999.99), 10);
+        cart.addItem(TestDataFactory.createCartItem(1L, cart, product, 2));
+        Product current = TestDataFactory.createProduct(1L, "Laptop", "Electronics", BigDecimal.valueOf(999.99), 1);
+
+        when(cartRepository.findByIdWithItems(1L)).thenReturn(Optional.of(cart));
+        when(productRepository.decrementStock(any())).thenReturn(new int[]{0});
+        when(productRepository.findByIdIn(List.of(1L))).thenReturn(List.of(current));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(TestDataFactory.createCreateOrderRequest(1L)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Requested: 2, Available: 1");
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(orderOutbox);
     }
 
     @Test
@@ -102,4 +170,64 @@ class OrderServiceImplTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("empty cart");
     }
+
+    @Test
+    void shouldTransitionOnlyOrdersAllowedByTheTransitionTable() {
+        // Given
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        OrderStatusRow confirmed = new OrderStatusRow(1L, "ORD-1", OrderStatus.CONFIRMED, BigDecimal.TEN, null,
+                LocalDateTime.now());
+        OrderStatusRow delivered = new OrderStatusRow(2L, "ORD-2", OrderStatus.DELIVERED, BigDecimal.TEN, null,
+                LocalDateTime.now());
+        when(orderRepository.lockStatuses(List.of(1L, 2L, 3L))).thenReturn(List.of(confirmed, delivered));
+
+        // When
+        BulkStatusTransitionDTO result = orderService.transitionOrders(BulkStatusTransitionRequest.builder()
+                .orderIds(List.of(1L, 2L, 3L))
+                .targetStatus(OrderStatus.PROCESSING)
+                .build());
+
+        // Then
+        assertThat(result.getTransitioned()).isEqualTo(1);
+        assertThat(result.getResults()).extracting("outcome").containsExactly(
+                StatusTransitionOutcome.TRANSITIONED,
+                StatusTransitionOutcome.INVALID_TRANSITION,
+                StatusTransitionOutcome.NOT_FOUND);
+        verify(orderRepository).updateStatuses(List.of(1L), OrderStatus.PROCESSING);
+        verify(orderRepository, never()).sumItemQuantities(any());
+        verify(orderOutbox).appendStatusChanges(OrderEventType.ORDER_STATUS_CHANGED, List.of(confirmed),
+                OrderStatus.PROCESSING);
+    }
+
+    @Test
+    void shouldSkipOrdersThatLeftTheFromStatusBeforeTheyWereLocked() {
+        // Given
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(orderRepository.findIdsByStatus(eq(OrderStatus.PENDING), any()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of());
+        OrderStatusRow pending = new OrderStatusRow(1L, "ORD-1", OrderStatus.PENDING, BigDecimal.TEN, null,
+                LocalDateTime.now());
+        // Confirmed by another request between the id query and the lock
+        OrderStatusRow confirmed = new OrderStatusRow(2L, "ORD-2", OrderStatus.CONFIRMED, BigDecimal.TEN, null,
+                LocalDateTime.now());
+        when(orderRepository.lockStatuses(List.of(1L, 2L))).thenReturn(List.of(pending, confirmed));
+
+        // When
+        BulkStatusTransitionDTO result = orderService.transitionOrders(BulkStatusTransitionRequest.builder()
+                .fromStatus(OrderStatus.PENDING)
+                .targetStatus(OrderStatus.CANCELLED)
+                .build());
+
+        // Then
+        assertThat(result.getTransitioned()).isEqualTo(1);
+        assertThat(result.getResults()).extracting("outcome").containsExactly(
+                StatusTransitionOutcome.TRANSITIONED,
+                StatusTransitionOutcome.STATUS_CHANGED);
+        verify(orderRepository).updateStatuses(List.of(1L), OrderStatus.CANCELLED);
+        verify(orderOutbox).appendStatusChanges(OrderEventType.ORDER_CANCELLED, List.of(pending),
+                OrderStatus.CANCELLED);
+    }
 }
@@ -1,24 +1,35 @@
 package com.ecommerce.onlinestore.service.impl;
 
+import com.ecommerce.onlinestore.cache.ProductCache;
+import com.ecommerce.onlinestore.config.ProductCacheProperties;
 import com.ecommerce.onlinestore.mapper.ProductMapper;
 import com.ecommerce.onlinestore.model.dto.ProductDTO;
 import com.ecommerce.onlinestore.model.entity.Product;
+import com.ecommerce.onlinestore.model.exception.BusinessException;
 import com.ecommerce.onlinestore.model.exception.ProductNotFoundException;
 import com.ecommerce.onlinestore.repository.ProductRepository;
+import com.ecommerce.onlinestore.search.ProductSearchIndex;
 import com.ecommerce.onlinestore.util.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,7 +42,8 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
-    @InjectMocks
+    private ProductSearchIndex searchIndex;
+
     private ProductServiceImpl productService;
 
     private Product testProduct;
@@ -39,6 +51,11 @@ class ProductServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        searchIndex = new ProductSearchIndex();
+        ProductCache productCache = new ProductCache(productRepository, productMapper,
+                new ProductCacheProperties(), new SimpleMeterRegistry());
+        productService = new ProductServiceImpl(productRepository, productMapper, searchIndex, productCache);
+
         testProduct = TestDataFactory.createProduct(1L, "Laptop", "Electronics", BigDecimal.valueOf(999.99), 10);
         testProductDTO = TestDataFactory.createProductDTO(1L, "Laptop", "Electronics", BigDecimal.valueOf(999.99), 10);
     }
@@ -56,6 +73,21 @@ class ProductServiceImplTest {
         verify(productRepository).findById(1L);
     }
 
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        when(productRepository.findBySku("SKU-LAPTOP")).thenReturn(Optional.of(testProduct));
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+
+        productService.getProductBySku("SKU-LAPTOP");
+        ProductDTO bySku = productService.getProductBySku("SKU-LAPTOP");
+        ProductDTO byId = productService.getProductById(1L);
+
+        assertThat(bySku).isSameAs(testProductDTO);
+        assertThat(byId).isSameAs(testProductDTO);
+        verify(productRepository, times(1)).findBySku("SKU-LAPTOP");
+        verify(productRepository, never()).findById(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenProductNotFound() {
         when(productRepository.findById(999L)).thenReturn(Optional.empty());
@@ -83,4 +115,30 @@ class ProductServiceImplTest {
         // For now, we just verify the method exists
         assertThat(productService).isNotNull();
     }
+
+    @Test
+    void shouldSearchByKeywordFromIndexAndHydrateOnlyRequestedPage() {
+        TestDataFactory.createSampleProducts().forEach(searchIndex::index);
+        searchIndex.markReady();
+        Product headphones = TestDataFactory.createProduct(4L, "Wireless Headphones", "Electronics",
+                BigDecimal.valueOf(149.99), 20);
+        when(productRepository.findByIdIn(List.of(4L))).thenReturn(List.of(headphones));
+        when(productMapper.toDTO(headphones)).thenReturn(testProductDTO);
+
+        // "description" matches all four products, the second page of size 3 holds only the last one
+        Page<ProductDTO> result = productService.searchByKeyword("description", PageRequest.of(1, 3));
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).containsExactly(testProductDTO);
+        verify(productRepository, never()).searchByKeyword(any(), any());
+    }
+
+    @Test
+    void shouldRejectShardCountOutOfRange() {
+        assertThatThrownBy(() -> productService.enableStockSharding(1L, 1))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Shard count");
+
+        verify(productRepository, never()).enableStockShards(any(), anyInt());
+    }
 }
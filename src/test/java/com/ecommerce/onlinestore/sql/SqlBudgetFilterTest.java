@@ -0,0 +1,87 @@
+package com.ecommerce.onlinestore.sql;
+
+import com.ecommerce.onlinestore.config.SqlBudgetProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetFilterTest {
+
+    private static final String SELECT_PRODUCT = "select p.id, p.name from products p where p.id=?";
+
+    private SqlBudgetProperties properties;
+    private SqlBudgetFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlBudgetProperties();
+        properties.setRepeatedStatementThreshold(2);
+        filter = new SqlBudgetFilter(properties);
+        request = new MockHttpServletRequest("GET", "/api/orders");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void shouldReportStatementsAndTimeInServerTimingHeader() throws Exception {
+        filter.doFilter(request, response, (req, res) -> {
+            RequestSqlStatistics statistics = RequestSqlStatistics.current();
+            statistics.executed("select count(*) from orders", TimeUnit.MICROSECONDS.toNanos(1000));
+            statistics.executed(SELECT_PRODUCT, TimeUnit.MICROSECONDS.toNanos(500));
+            res.getWriter().write("[]");
+            // Statements after the body started are too late for the header
+            statistics.executed(SELECT_PRODUCT, 0);
+        });
+
+        assertThat(response.getHeader(SqlBudgetFilter.SERVER_TIMING)).isEqualTo("db;dur=1.500;desc=\"2 statements\"");
+        RequestSqlStatistics statistics = (RequestSqlStatistics) request.getAttribute(RequestSqlStatistics.ATTRIBUTE);
+        assertThat(statistics.getStatementCount()).isEqualTo(3);
+        assertThat(RequestSqlStatistics.current()).isNull();
+    }
+
+    @Test
+    void shouldWarnWhenTheSameStatementShapeRepeats(CapturedOutput output) throws Exception {
+        filter.doFilter(request, response, (req, res) -> {
+            RequestSqlStatistics statistics = RequestSqlStatistics.current();
+            for (int i = 0; i < 3; i++) {
+                statistics.executed(SELECT_PRODUCT, 0);
+                statistics.executed("select * from order_items where order_id in (" + "?,".repeat(i) + "?)", 0);
+            }
+        });
+
+        RequestSqlStatistics statistics = (RequestSqlStatistics) request.getAttribute(RequestSqlStatistics.ATTRIBUTE);
+        assertThat(statistics.repeatedShapes(2)).containsExactly(
+                SELECT_PRODUCT, "select * from order_items where order_id in (?)");
+        assertThat(response.getHeader(SqlBudgetFilter.SERVER_TIMING)).endsWith("desc=\"6 statements\"");
+        assertThat(output).contains("GET /api/orders ran the same statement 3 times (6 statements in total), "
+                + "possible N+1: " + SELECT_PRODUCT);
+    }
+
+    @Test
+    void shouldNotCountStatementsWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+
+        filter.doFilter(request, response, (req, res) -> assertThat(RequestSqlStatistics.current()).isNull());
+
+        assertThat(response.getHeader(SqlBudgetFilter.SERVER_TIMING)).isNull();
+        assertThat(request.getAttribute(RequestSqlStatistics.ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void shouldCollapseWhitespaceAndInListsIntoOneShape() {
+        assertThat(RequestSqlStatistics.shapeOf("select *\n  from products\twhere id in ( ?, ?,? )"))
+                .isEqualTo("select * from products where id in (?)");
+        assertThat(RequestSqlStatistics.shapeOf("insert into carts (session_id,id) values (?,?)"))
+                .isEqualTo("insert into carts (session_id,id) values (?,?)");
+    }
+}
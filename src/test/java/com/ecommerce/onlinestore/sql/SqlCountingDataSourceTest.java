@@ -0,0 +1,57 @@
+package com.ecommerce.onlinestore.sql;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlCountingDataSourceTest {
+
+    private static final String INSERT = "INSERT INTO counted (id) VALUES (?)";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-counting;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new SqlCountingDataSource(h2));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS counted (id BIGINT PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStatistics.end();
+        jdbcTemplate.execute("DROP TABLE counted");
+    }
+
+    @Test
+    void shouldCountJdbcTemplateStatementsAndBatchesOncePerExecution() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+
+        jdbcTemplate.batchUpdate(INSERT, List.of(new Object[]{1L}, new Object[]{2L}, new Object[]{3L}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counted", Long.class);
+        jdbcTemplate.update("DELETE FROM counted");
+
+        assertThat(statistics.getStatementCount()).isEqualTo(3);
+        assertThat(statistics.getStatementsByShape()).isEqualTo(Map.of(
+                INSERT, 1, "SELECT COUNT(*) FROM counted", 1, "DELETE FROM counted", 1));
+        assertThat(statistics.getExecutionNanos()).isPositive();
+    }
+
+    @Test
+    void shouldNotCountStatementsOutsideARequest() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        RequestSqlStatistics.end();
+
+        jdbcTemplate.update(INSERT, 1L);
+
+        assertThat(statistics.getStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.onlinestore.util;
+
+import com.ecommerce.onlinestore.sql.RequestSqlStatistics;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers for the number of statements a request may run, e.g.
+ * {@code .andExpect(SqlBudget.statementsAtMost(3))}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SqlBudget {
+
+    public static ResultMatcher statementsAtMost(int budget) {
+        return result -> {
+            RequestSqlStatistics statistics = statisticsOf(result);
+            assertThat(statistics.getStatementCount())
+                    .as("statements run by %s %s: %s", result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI(), statistics.getStatementsByShape())
+                    .isLessThanOrEqualTo(budget);
+        };
+    }
+
+    public static ResultMatcher noStatementRepeatedMoreThan(int times) {
+        return result -> {
+            RequestSqlStatistics statistics = statisticsOf(result);
+            assertThat(statistics.repeatedShapes(times))
+                    .as("statements run more than %d times by %s %s", times, result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI())
+                    .isEmpty();
+        };
+    }
+
+    public static ResultMatcher noStatementStartingWith(String prefix) {
+        return result -> {
+            RequestSqlStatistics statistics = statisticsOf(result);
+            assertThat(statistics.getStatementsByShape().keySet())
+                    .as("statements run by %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .noneMatch(shape -> shape.startsWith(prefix));
+        };
+    }
+
+    private static RequestSqlStatistics statisticsOf(MvcResult result) {
+        Object statistics = result.getRequest().getAttribute(RequestSqlStatistics.ATTRIBUTE);
+        assertThat(statistics).as("SQL statistics of the request, is app.sql-budget.enabled?").isNotNull();
+        return (RequestSqlStatistics) statistics;
+    }
+}